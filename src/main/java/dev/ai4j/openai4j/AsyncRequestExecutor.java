@@ -1,6 +1,7 @@
 package dev.ai4j.openai4j;
 
 import retrofit2.Call;
+import retrofit2.Callback;
 
 import java.io.IOException;
 import java.util.function.Consumer;
@@ -28,19 +29,7 @@ class AsyncRequestExecutor<Response, ResponseContent> {
 
                     @Override
                     public ResponseHandle execute() {
-                        try {
-                            retrofit2.Response<Response> retrofitResponse = call.execute();
-                            if (retrofitResponse.isSuccessful()) {
-                                Response response = retrofitResponse.body();
-                                ResponseContent responseContent = responseContentExtractor.apply(response);
-                                responseHandler.accept(responseContent);
-                            } else {
-                                errorHandler.accept(toException(retrofitResponse));
-                            }
-                        } catch (IOException e) {
-                            errorHandler.accept(e);
-                        }
-                        return new ResponseHandle();
+                        return enqueue(responseHandler, errorHandler);
                     }
                 };
             }
@@ -51,20 +40,78 @@ class AsyncRequestExecutor<Response, ResponseContent> {
 
                     @Override
                     public ResponseHandle execute() {
-                        try {
-                            retrofit2.Response<Response> retrofitResponse = call.execute();
-                            if (retrofitResponse.isSuccessful()) {
-                                Response response = retrofitResponse.body();
-                                ResponseContent responseContent = responseContentExtractor.apply(response);
-                                responseHandler.accept(responseContent);
-                            }
-                        } catch (IOException e) {
-                            // intentionally ignoring, because user called ignoreErrors()
-                        }
-                        return new ResponseHandle();
+                        return enqueue(
+                                responseHandler,
+                                (e) -> {
+                                    // intentionally ignoring, because user called ignoreErrors()
+                                }
+                        );
                     }
                 };
             }
         };
     }
+
+    /**
+     * Enqueues the call on the OkHttp dispatcher and returns immediately.
+     * Callbacks are invoked on the dispatcher thread, or on the callback executor if one was configured.
+     */
+    private ResponseHandle enqueue(Consumer<ResponseContent> responseHandler,
+                                   Consumer<Throwable> errorHandler) {
+
+        ResponseHandle responseHandle = new ResponseHandle();
+
+        call.enqueue(new Callback<Response>() {
+
+            @Override
+            public void onResponse(Call<Response> call, retrofit2.Response<Response> retrofitResponse) {
+                if (responseHandle.cancelled) {
+                    responseHandle.complete();
+                    return;
+                }
+
+                if (retrofitResponse.isSuccessful()) {
+                    ResponseContent responseContent;
+                    try {
+                        responseContent = responseContentExtractor.apply(retrofitResponse.body());
+                    } catch (Exception e) {
+                        handleError(e);
+                        return;
+                    }
+                    try {
+                        responseHandler.accept(responseContent); // do not handle exception, fail-fast
+                    } finally {
+                        responseHandle.complete();
+                    }
+                } else {
+                    try {
+                        handleError(toException(retrofitResponse));
+                    } catch (IOException e) {
+                        handleError(e);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Call<Response> call, Throwable t) {
+                if (responseHandle.cancelled) {
+                    responseHandle.complete();
+                    return;
+                }
+                handleError(t);
+            }
+
+            private void handleError(Throwable error) {
+                try {
+                    errorHandler.accept(error);
+                } finally {
+                    responseHandle.completeExceptionally(error);
+                }
+            }
+        });
+
+        responseHandle.onCancel(call::cancel);
+
+        return responseHandle;
+    }
 }
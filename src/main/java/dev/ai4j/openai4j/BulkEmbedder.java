@@ -0,0 +1,167 @@
+package dev.ai4j.openai4j;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import dev.ai4j.openai4j.OpenAiClient.OpenAiClientContext;
+import dev.ai4j.openai4j.embedding.BulkEmbeddingOptions;
+import dev.ai4j.openai4j.embedding.EmbeddingRequest;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import dev.ai4j.openai4j.embedding.EmbeddingVectorConsumer;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Embeds a stream of inputs: packs them into requests that fit the input and token limits,
+ * keeps up to a given number of requests in flight, and hands the vectors over in input order.
+ * <p>
+ * Requests are sent as soon as a slot is free, while vectors are handed over on the calling thread,
+ * one request after another, so the sink does not need to be thread-safe.
+ */
+class BulkEmbedder {
+
+    private final OpenAiClient client;
+    private final OpenAiClientContext context;
+    private final BulkEmbeddingOptions options;
+
+    private String lookahead;
+
+    BulkEmbedder(OpenAiClient client, OpenAiClientContext context, BulkEmbeddingOptions options) {
+        this.client = client;
+        this.context = context;
+        this.options = options;
+    }
+
+    long embedAll(Iterator<String> inputs, EmbeddingVectorConsumer sink) {
+        Deque<Batch> inFlight = new ArrayDeque<>();
+        int offset = 0;
+        long totalTokens = 0;
+        try {
+            while (true) {
+                while (inFlight.size() < options.maxInFlightRequests() && (lookahead != null || inputs.hasNext())) {
+                    Batch batch = new Batch(offset, nextInputs(inputs));
+                    offset += batch.inputs.size();
+                    batch.send();
+                    inFlight.add(batch);
+                }
+
+                Batch head = inFlight.poll();
+                if (head == null) {
+                    return totalTokens;
+                }
+                EmbeddingResponse response = head.await();
+                if (response.usage() != null && response.usage().totalTokens() != null) {
+                    totalTokens += response.usage().totalTokens();
+                }
+                for (int i = 0; i < head.vectors.length; i++) {
+                    if (head.vectors[i] == null) {
+                        throw new IllegalStateException("No embedding returned for input " + (head.offset + i));
+                    }
+                    sink.accept(head.offset + i, head.vectors[i]);
+                }
+            }
+        } finally {
+            for (Batch batch : inFlight) {
+                batch.future.cancel(true);
+            }
+        }
+    }
+
+    private List<String> nextInputs(Iterator<String> inputs) {
+        List<String> batch = new ArrayList<>();
+        long tokens = 0;
+        while (batch.size() < options.maxInputsPerRequest() && (lookahead != null || inputs.hasNext())) {
+            String input = lookahead != null ? lookahead : inputs.next();
+            lookahead = null;
+            int inputTokens = options.tokenEstimator().applyAsInt(input);
+            if (!batch.isEmpty() && tokens + inputTokens > options.maxTokensPerRequest()) {
+                lookahead = input;
+                break;
+            }
+            batch.add(input);
+            tokens += inputTokens;
+        }
+        return batch;
+    }
+
+    private class Batch {
+
+        private final int offset;
+        private final List<String> inputs;
+        private float[][] vectors;
+        private CompletableFuture<EmbeddingResponse> future;
+        private int retries;
+
+        Batch(int offset, List<String> inputs) {
+            this.offset = offset;
+            this.inputs = inputs;
+        }
+
+        void send() {
+            EmbeddingRequest request = EmbeddingRequest.builder()
+                    .model(options.model())
+                    .dimensions(options.dimensions())
+                    .encodingFormat(options.encodingFormat())
+                    .user(options.user())
+                    .input(inputs)
+                    .build();
+            float[][] vectors = new float[inputs.size()][];
+            this.vectors = vectors;
+            this.future = client.embedding(context, request, (index, vector) -> {
+                if (index >= 0 && index < vectors.length) {
+                    vectors[index] = vector;
+                }
+            }).executeAsync();
+        }
+
+        EmbeddingResponse await() {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (retries >= options.maxRetries() || !isRetryable(cause)) {
+                        throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+                    }
+                    sleep(options.initialRetryDelay().toMillis() << retries);
+                    retries++;
+                    send();
+                }
+            }
+        }
+    }
+
+    /**
+     * Network failures while reading the response body are wrapped (e.g. in an {@link java.io.UncheckedIOException}),
+     * so the whole cause chain is looked at. Malformed JSON is not retried.
+     */
+    private static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OpenAiHttpException) {
+                int code = ((OpenAiHttpException) cause).code();
+                return code == 429 || code >= 500;
+            }
+            if (cause instanceof IOException) {
+                return !(cause instanceof JsonProcessingException);
+            }
+        }
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
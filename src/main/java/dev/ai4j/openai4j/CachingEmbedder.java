@@ -0,0 +1,135 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+import dev.ai4j.openai4j.embedding.EmbeddingCache;
+import dev.ai4j.openai4j.embedding.EmbeddingCacheKey;
+import dev.ai4j.openai4j.embedding.EmbeddingRequest;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Puts an {@link EmbeddingCache} in front of embedding requests: only the distinct inputs that are not cached
+ * are sent, and the returned vectors are merged with the cached ones in input order.
+ * The cache is consulted each time the request is executed.
+ */
+class CachingEmbedder {
+
+    private final EmbeddingCache cache;
+
+    CachingEmbedder(EmbeddingCache cache) {
+        this.cache = cache;
+    }
+
+    SyncOrAsync<EmbeddingResponse> embedding(EmbeddingRequest request,
+                                             Function<EmbeddingRequest, SyncOrAsync<EmbeddingResponse>> sender) {
+        return new FutureSyncOrAsync<>(() -> embed(request, sender));
+    }
+
+    SyncOrAsync<List<Float>> embedding(EmbeddingRequest request, Supplier<SyncOrAsync<List<Float>>> sender) {
+        return new FutureSyncOrAsync<>(() -> embed(request, sender));
+    }
+
+    private CompletableFuture<EmbeddingResponse> embed(EmbeddingRequest request,
+                                                       Function<EmbeddingRequest, SyncOrAsync<EmbeddingResponse>> sender) {
+        List<String> inputs = request.input();
+        float[][] vectors = new float[inputs.size()][]; // cached vectors
+        int[] missIndices = new int[inputs.size()]; // index in the outgoing request, or -1 if cached
+        Map<EmbeddingCacheKey, Integer> misses = new LinkedHashMap<>();
+        List<String> missingInputs = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            EmbeddingCacheKey key = EmbeddingCacheKey.of(request.model(), request.dimensions(), inputs.get(i));
+            Integer missIndex = misses.get(key);
+            if (missIndex == null) {
+                vectors[i] = cache.get(key);
+                if (vectors[i] != null) {
+                    missIndices[i] = -1;
+                    continue;
+                }
+                missIndex = missingInputs.size();
+                misses.put(key, missIndex);
+                missingInputs.add(inputs.get(i));
+            }
+            missIndices[i] = missIndex;
+        }
+
+        if (missingInputs.isEmpty()) {
+            return CompletableFuture.completedFuture(merge(request.model(), null, vectors, missIndices, null));
+        }
+
+        EmbeddingRequest missRequest = EmbeddingRequest.builder()
+                .model(request.model())
+                .dimensions(request.dimensions())
+                .encodingFormat(request.encodingFormat())
+                .user(request.user())
+                .input(missingInputs)
+                .build();
+        return thenApply(sender.apply(missRequest).executeAsync(), response -> {
+            float[][] fetched = new float[missingInputs.size()][];
+            for (Embedding embedding : response.data()) {
+                Integer index = embedding.index();
+                if (index != null && index >= 0 && index < fetched.length) {
+                    fetched[index] = embedding.vector();
+                }
+            }
+            for (Map.Entry<EmbeddingCacheKey, Integer> miss : misses.entrySet()) {
+                float[] vector = fetched[miss.getValue()];
+                if (vector == null) {
+                    throw new IllegalStateException("No embedding returned for input '" + missingInputs.get(miss.getValue()) + "'");
+                }
+                cache.put(miss.getKey(), vector);
+            }
+            return merge(response.model(), response, vectors, missIndices, fetched);
+        });
+    }
+
+    private CompletableFuture<List<Float>> embed(EmbeddingRequest request, Supplier<SyncOrAsync<List<Float>>> sender) {
+        EmbeddingCacheKey key = EmbeddingCacheKey.of(request.model(), request.dimensions(), request.input().get(0));
+        float[] cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(Embedding.builder().vector(cached).build().embedding());
+        }
+        return thenApply(sender.get().executeAsync(), embedding -> {
+            float[] vector = new float[embedding.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = embedding.get(i);
+            }
+            cache.put(key, vector);
+            return embedding;
+        });
+    }
+
+    /**
+     * Like {@link CompletableFuture#thenApply(Function)}, but cancelling the returned future also cancels
+     * {@code sent}, so that the request is cancelled too.
+     */
+    private static <T, R> CompletableFuture<R> thenApply(CompletableFuture<T> sent, Function<T, R> function) {
+        CompletableFuture<R> result = sent.thenApply(function);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                sent.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    private static EmbeddingResponse merge(String model, EmbeddingResponse response,
+                                           float[][] vectors, int[] missIndices, float[][] fetched) {
+        List<Embedding> data = new ArrayList<>(vectors.length);
+        for (int i = 0; i < vectors.length; i++) {
+            float[] vector = missIndices[i] < 0 ? vectors[i] : fetched[missIndices[i]];
+            data.add(Embedding.builder().index(i).vector(vector).build());
+        }
+        return EmbeddingResponse.builder()
+                .model(model)
+                .data(data)
+                .usage(response == null ? null : response.usage())
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import dev.ai4j.openai4j.completion.CompletionRequest;
 import dev.ai4j.openai4j.completion.CompletionResponse;
 import dev.ai4j.openai4j.embedding.EmbeddingRequest;
 import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import dev.ai4j.openai4j.embedding.EmbeddingVectorConsumer;
 import dev.ai4j.openai4j.image.GenerateImagesRequest;
 import dev.ai4j.openai4j.image.GenerateImagesResponse;
 import dev.ai4j.openai4j.moderation.ModerationRequest;
@@ -13,15 +14,17 @@ import dev.ai4j.openai4j.moderation.ModerationResponse;
 import dev.ai4j.openai4j.moderation.ModerationResult;
 import okhttp3.Cache;
 import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import retrofit2.Retrofit;
-import retrofit2.converter.jackson.JacksonConverterFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class DefaultOpenAiClient extends OpenAiClient {
 
@@ -32,6 +35,10 @@ public class DefaultOpenAiClient extends OpenAiClient {
     private final OkHttpClient okHttpClient;
     private final OpenAiApi openAiApi;
     private final boolean logStreamingResponses;
+    private final boolean chunkedStreamingRequests;
+    private final Supplier<StreamingCallbackQueue> streamingCallbackQueueSupplier;
+    private final EmbeddingBatcher embeddingBatcher;
+    private final CachingEmbedder cachingEmbedder;
 
     public DefaultOpenAiClient(String apiKey) {
         this(new Builder().openAiApiKey(apiKey));
@@ -89,21 +96,53 @@ public class DefaultOpenAiClient extends OpenAiClient {
             okHttpClientBuilder.addInterceptor(new ResponseLoggingInterceptor(serviceBuilder.logLevel));
         }
         this.logStreamingResponses = serviceBuilder.logStreamingResponses;
+        this.chunkedStreamingRequests = serviceBuilder.chunkedStreamingRequests;
+
+        if (serviceBuilder.callbackExecutor != null) {
+            this.streamingCallbackQueueSupplier = () -> new StreamingCallbackQueue(
+                    serviceBuilder.callbackExecutor,
+                    serviceBuilder.streamingCallbackQueueCapacity,
+                    serviceBuilder.streamingOverflowPolicy
+            );
+        } else {
+            this.streamingCallbackQueueSupplier = StreamingCallbackQueue::direct;
+        }
 
         this.okHttpClient = okHttpClientBuilder.build();
 
         Retrofit.Builder retrofitBuilder = new Retrofit.Builder().baseUrl(serviceBuilder.baseUrl).client(okHttpClient);
 
+        if (serviceBuilder.callbackExecutor != null) {
+            retrofitBuilder.callbackExecutor(serviceBuilder.callbackExecutor);
+        }
+
         if (serviceBuilder.persistTo != null) {
             retrofitBuilder.addConverterFactory(new PersistorConverterFactory(serviceBuilder.persistTo));
         }
 
-        retrofitBuilder.addConverterFactory(JacksonConverterFactory.create(Json.OBJECT_MAPPER));
+        retrofitBuilder.addConverterFactory(new PreparedChatTemplateConverterFactory());
+        retrofitBuilder.addConverterFactory(new JsonCodecConverterFactory(Json.codec()));
 
         this.openAiApi = retrofitBuilder.build().create(OpenAiApi.class);
+
+        if (serviceBuilder.embeddingBatchingMaxDelay != null) {
+            this.embeddingBatcher = new EmbeddingBatcher(
+                    batch -> new RequestExecutor<>(openAiApi.embeddings(batch.headers(), batch.request(), apiVersion), r -> r),
+                    serviceBuilder.embeddingBatchingMaxSize,
+                    serviceBuilder.embeddingBatchingMaxDelay
+            );
+        } else {
+            this.embeddingBatcher = null;
+        }
+
+        this.cachingEmbedder = serviceBuilder.embeddingCache == null ? null : new CachingEmbedder(serviceBuilder.embeddingCache);
     }
 
     public void shutdown() {
+        if (embeddingBatcher != null) {
+            embeddingBatcher.shutdown();
+        }
+
         okHttpClient.dispatcher().executorService().shutdown();
 
         okHttpClient.connectionPool().evictAll();
@@ -142,7 +181,9 @@ public class DefaultOpenAiClient extends OpenAiClient {
                 () -> CompletionRequest.builder().from(request).stream(true).build(),
                 CompletionResponse.class,
                 r -> r,
-                logStreamingResponses
+                logStreamingResponses,
+                chunkedStreamingRequests,
+                streamingCallbackQueueSupplier
         );
     }
 
@@ -160,7 +201,9 @@ public class DefaultOpenAiClient extends OpenAiClient {
                 () -> CompletionRequest.builder().from(request).stream(true).build(),
                 CompletionResponse.class,
                 CompletionResponse::text,
-                logStreamingResponses
+                logStreamingResponses,
+                chunkedStreamingRequests,
+                streamingCallbackQueueSupplier
         );
     }
 
@@ -177,7 +220,9 @@ public class DefaultOpenAiClient extends OpenAiClient {
                 () -> ChatCompletionRequest.builder().from(request).stream(true).build(),
                 ChatCompletionResponse.class,
                 r -> r,
-                logStreamingResponses
+                logStreamingResponses,
+                chunkedStreamingRequests,
+                streamingCallbackQueueSupplier
         );
     }
 
@@ -195,19 +240,49 @@ public class DefaultOpenAiClient extends OpenAiClient {
                 () -> ChatCompletionRequest.builder().from(request).stream(true).build(),
                 ChatCompletionResponse.class,
                 r -> r.choices().get(0).delta().content(),
-                logStreamingResponses
+                logStreamingResponses,
+                chunkedStreamingRequests,
+                streamingCallbackQueueSupplier
         );
     }
 
     @Override
     public SyncOrAsync<EmbeddingResponse> embedding(OpenAiClientContext context, EmbeddingRequest request) {
+        if (cachingEmbedder != null) {
+            return cachingEmbedder.embedding(request,
+                    missRequest -> new RequestExecutor<>(openAiApi.embeddings(context.headers(), missRequest, apiVersion), r -> r));
+        }
+
         return new RequestExecutor<>(openAiApi.embeddings(context.headers(), request, apiVersion), r -> r);
     }
 
+    @Override
+    public SyncOrAsync<EmbeddingResponse> embedding(OpenAiClientContext context, EmbeddingRequest request,
+                                                    EmbeddingVectorConsumer vectorConsumer) {
+        return new RequestExecutor<>(openAiApi.embeddingsStreaming(context.headers(), request, apiVersion), body -> {
+            try (ResponseBody responseBody = body) {
+                return EmbeddingResponseReader.read(responseBody.byteStream(), vectorConsumer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     @Override
     public SyncOrAsync<List<Float>> embedding(OpenAiClientContext context, String input) {
         EmbeddingRequest request = EmbeddingRequest.builder().input(input).build();
 
+        if (cachingEmbedder != null) {
+            return cachingEmbedder.embedding(request, () -> uncachedEmbedding(context, request));
+        }
+        return uncachedEmbedding(context, request);
+    }
+
+    private SyncOrAsync<List<Float>> uncachedEmbedding(OpenAiClientContext context, EmbeddingRequest request) {
+        if (embeddingBatcher != null) {
+            return embeddingBatcher.embedding(request, context.headers());
+        }
+
         return new RequestExecutor<>(openAiApi.embeddings(context.headers(), request, apiVersion),
             EmbeddingResponse::embedding);
     }
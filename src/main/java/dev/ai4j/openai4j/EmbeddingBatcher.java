@@ -0,0 +1,173 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+import dev.ai4j.openai4j.embedding.EmbeddingRequest;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single-input embedding calls into batched {@link EmbeddingRequest}s.
+ * <p>
+ * Calls are grouped by model, dimensions and headers. A batch is sent when it reaches the maximum size,
+ * or when the maximum delay has elapsed since its first call, whichever comes first.
+ * Each caller then gets the vector at its own {@link Embedding#index()}.
+ */
+class EmbeddingBatcher {
+
+    private final Function<Batch, SyncOrAsync<EmbeddingResponse>> sender;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<BatchKey, Batch> openBatches = new HashMap<>(); // guarded by this
+
+    /**
+     * @param sender sends the request of a batch with the headers of the batch
+     */
+    EmbeddingBatcher(Function<Batch, SyncOrAsync<EmbeddingResponse>> sender, int maxSize, Duration maxDelay) {
+        this.sender = sender;
+        this.maxSize = maxSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "openai4j-embedding-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    SyncOrAsync<List<Float>> embedding(EmbeddingRequest request, Map<String, String> headers) {
+        // the batch is shared with other callers, so cancelling only drops this caller's result
+        return new FutureSyncOrAsync<>(() -> submit(request, headers));
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private CompletableFuture<List<Float>> submit(EmbeddingRequest request, Map<String, String> headers) {
+        CompletableFuture<List<Float>> future = new CompletableFuture<>();
+        BatchKey key = new BatchKey(request.model(), request.dimensions(), request.user(), headers);
+        Batch full = null;
+        synchronized (this) {
+            Batch batch = openBatches.get(key);
+            if (batch == null) {
+                batch = new Batch(key);
+                openBatches.put(key, batch);
+                Batch scheduled = batch;
+                scheduler.schedule(() -> flush(scheduled), maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+            batch.inputs.add(request.input().get(0));
+            batch.futures.add(future);
+            if (batch.inputs.size() >= maxSize) {
+                openBatches.remove(key);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return future;
+    }
+
+    private void flush(Batch batch) {
+        synchronized (this) {
+            if (openBatches.get(batch.key) != batch) {
+                return; // already sent because it was full
+            }
+            openBatches.remove(batch.key);
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        try {
+            sender.apply(batch)
+                    .onResponse(response -> {
+                        for (Embedding embedding : response.data()) {
+                            Integer index = embedding.index();
+                            if (index != null && index >= 0 && index < batch.futures.size()) {
+                                batch.futures.get(index).complete(embedding.embedding());
+                            }
+                        }
+                        for (CompletableFuture<List<Float>> future : batch.futures) {
+                            future.completeExceptionally(new IllegalStateException("No embedding returned for the input"));
+                        }
+                    })
+                    .onError(error -> batch.futures.forEach(future -> future.completeExceptionally(error)))
+                    .execute();
+        } catch (RuntimeException e) {
+            batch.futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    static class Batch {
+
+        private final BatchKey key;
+        private final List<String> inputs = new ArrayList<>();
+        private final List<CompletableFuture<List<Float>>> futures = new ArrayList<>();
+
+        Batch(BatchKey key) {
+            this.key = key;
+        }
+
+        EmbeddingRequest request() {
+            return EmbeddingRequest.builder()
+                    .model(key.model)
+                    .dimensions(key.dimensions)
+                    .user(key.user)
+                    .input(inputs)
+                    .build();
+        }
+
+        Map<String, String> headers() {
+            return key.headers;
+        }
+    }
+
+    private static class BatchKey {
+
+        private final String model;
+        private final Integer dimensions;
+        private final String user;
+        private final Map<String, String> headers;
+
+        BatchKey(String model, Integer dimensions, String user, Map<String, String> headers) {
+            this.model = model;
+            this.dimensions = dimensions;
+            this.user = user;
+            this.headers = new HashMap<>(headers);
+        }
+
+        @Override
+        public boolean equals(Object another) {
+            if (this == another) return true;
+            if (!(another instanceof BatchKey)) return false;
+            BatchKey that = (BatchKey) another;
+            return Objects.equals(model, that.model)
+                    && Objects.equals(dimensions, that.dimensions)
+                    && Objects.equals(user, that.user)
+                    && Objects.equals(headers, that.headers);
+        }
+
+        @Override
+        public int hashCode() {
+            int h = 5381;
+            h += (h << 5) + Objects.hashCode(model);
+            h += (h << 5) + Objects.hashCode(dimensions);
+            h += (h << 5) + Objects.hashCode(user);
+            h += (h << 5) + Objects.hashCode(headers);
+            return h;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package dev.ai4j.openai4j;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import dev.ai4j.openai4j.embedding.Embedding;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import dev.ai4j.openai4j.embedding.EmbeddingVectorConsumer;
+import dev.ai4j.openai4j.shared.Usage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads an {@link EmbeddingResponse} incrementally, handing each vector of <code>data</code> over to an
+ * {@link EmbeddingVectorConsumer} as soon as it has been decoded. At most one vector is held in memory at a time,
+ * whatever the size of the batch.
+ * <p>
+ * It is always backed by Jackson, whatever the {@link dev.ai4j.openai4j.spi.JsonCodec} of the client.
+ */
+final class EmbeddingResponseReader {
+
+    private EmbeddingResponseReader() {
+    }
+
+    /**
+     * @param inputStream    JSON of the response, it is not closed
+     * @param vectorConsumer receives the vectors, in the order of the response
+     * @return the response without its <code>data</code>: only the model and the usage
+     */
+    static EmbeddingResponse read(InputStream inputStream, EmbeddingVectorConsumer vectorConsumer) throws IOException {
+        try (JsonParser parser = Json.OBJECT_MAPPER.getFactory().createParser(inputStream)) {
+            EmbeddingResponse.Builder response = EmbeddingResponse.builder();
+
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("data".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readEmbedding(parser, vectorConsumer);
+                    }
+                } else if ("model".equals(field) && token == JsonToken.VALUE_STRING) {
+                    response.model(parser.getText());
+                } else if ("usage".equals(field) && token == JsonToken.START_OBJECT) {
+                    response.usage(parser.readValueAs(Usage.class));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return response.build();
+        }
+    }
+
+    private static void readEmbedding(JsonParser parser, EmbeddingVectorConsumer vectorConsumer) throws IOException {
+        Embedding embedding = parser.readValueAs(Embedding.class);
+        float[] vector = embedding.vector();
+        if (embedding.index() == null || vector == null) {
+            throw new JsonParseException(parser, "Embedding without index or vector");
+        }
+        vectorConsumer.accept(embedding.index(), vector);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but was " + actual);
+        }
+    }
+}
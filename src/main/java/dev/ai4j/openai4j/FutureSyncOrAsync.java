@@ -0,0 +1,80 @@
+package dev.ai4j.openai4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Adapts a {@link CompletableFuture} supplier to {@link SyncOrAsync}. The supplier is called once per execution.
+ * Cancelling the response cancels the future, but not the work that completes it.
+ */
+class FutureSyncOrAsync<ResponseContent> implements SyncOrAsync<ResponseContent> {
+
+    private final Supplier<CompletableFuture<ResponseContent>> futureSupplier;
+
+    FutureSyncOrAsync(Supplier<CompletableFuture<ResponseContent>> futureSupplier) {
+        this.futureSupplier = futureSupplier;
+    }
+
+    static <ResponseContent> FutureSyncOrAsync<ResponseContent> completed(ResponseContent responseContent) {
+        return new FutureSyncOrAsync<>(() -> CompletableFuture.completedFuture(responseContent));
+    }
+
+    @Override
+    public ResponseContent execute() {
+        try {
+            return futureSupplier.get().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @Override
+    public AsyncResponseHandling onResponse(Consumer<ResponseContent> responseHandler) {
+        return new AsyncResponseHandling() {
+
+            @Override
+            public ErrorHandling onError(Consumer<Throwable> errorHandler) {
+                return () -> execute(responseHandler, errorHandler);
+            }
+
+            @Override
+            public ErrorHandling ignoreErrors() {
+                return () -> execute(responseHandler, (e) -> {
+                    // intentionally ignoring, because user called ignoreErrors()
+                });
+            }
+        };
+    }
+
+    private ResponseHandle execute(Consumer<ResponseContent> responseHandler, Consumer<Throwable> errorHandler) {
+        ResponseHandle responseHandle = new ResponseHandle();
+        CompletableFuture<ResponseContent> future = futureSupplier.get();
+        future.whenComplete((responseContent, error) -> {
+            if (responseHandle.cancelled) {
+                responseHandle.complete();
+            } else if (error != null) {
+                try {
+                    errorHandler.accept(error);
+                } finally {
+                    responseHandle.completeExceptionally(error);
+                }
+            } else {
+                try {
+                    responseHandler.accept(responseContent);
+                } finally {
+                    responseHandle.complete();
+                }
+            }
+        });
+        responseHandle.onCancel(() -> future.cancel(false));
+        return responseHandle;
+    }
+}
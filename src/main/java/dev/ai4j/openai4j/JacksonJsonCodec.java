@@ -0,0 +1,71 @@
+package dev.ai4j.openai4j;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.ai4j.openai4j.spi.JsonCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The default {@link JsonCodec}, using Jackson with the annotations of the model classes.
+ * Readers and writers are bound to their type once and then reused.
+ */
+public final class JacksonJsonCodec implements JsonCodec {
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JacksonJsonCodec() {
+        this(Json.OBJECT_MAPPER);
+    }
+
+    JacksonJsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void toJson(Object value, OutputStream outputStream) throws IOException {
+        writerFor(value.getClass()).writeValue(outputStream, value);
+    }
+
+    @Override
+    public byte[] toJsonBytes(Object value) throws IOException {
+        return writerFor(value.getClass()).writeValueAsBytes(value);
+    }
+
+    @Override
+    public String toJson(Object value) throws IOException {
+        return writerFor(value.getClass()).writeValueAsString(value);
+    }
+
+    @Override
+    public <T> T fromJson(byte[] json, int offset, int length, Class<T> type) throws IOException {
+        return readerFor(type).readValue(json, offset, length);
+    }
+
+    @Override
+    public <T> T fromJson(InputStream inputStream, Class<T> type) throws IOException {
+        return readerFor(type).readValue(inputStream);
+    }
+
+    @Override
+    public <T> T fromJson(String json, Class<T> type) throws IOException {
+        return readerFor(type).readValue(json);
+    }
+
+    private ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, t -> objectMapper.readerFor(t).without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
+    private ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, t -> objectMapper.writerFor(t).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+}
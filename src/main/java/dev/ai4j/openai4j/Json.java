@@ -2,26 +2,66 @@ package dev.ai4j.openai4j;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.ai4j.openai4j.spi.JsonCodec;
+import dev.ai4j.openai4j.spi.JsonCodecFactory;
+import dev.ai4j.openai4j.spi.ServiceHelper;
+
+import java.io.IOException;
 
 public class Json {
 
-    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
-            .enable(SerializationFeature.INDENT_OUTPUT);
+    /**
+     * Writes compact JSON, as sent on the wire. Pretty-printing is only done for logging, see {@link #prettyPrint(String)}.
+     */
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final ObjectWriter PRETTY_WRITER = OBJECT_MAPPER.writerWithDefaultPrettyPrinter();
+
+    private static final JsonCodec CODEC = loadCodec(null);
 
     public static String toJson(Object o) {
         try {
-            return OBJECT_MAPPER.writeValueAsString(o);
-        } catch (JsonProcessingException jpe) {
-            throw new RuntimeException(jpe);
+            return o == null ? "null" : CODEC.toJson(o);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
     }
 
     public static <T> T fromJson(String json, Class<T> type) {
         try {
-            return OBJECT_MAPPER.readValue(json, type);
-        } catch (JsonProcessingException jpe) {
-            throw new RuntimeException(jpe);
+            return CODEC.fromJson(json, type);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the codec used for all requests and responses: the one of the first {@link JsonCodecFactory}
+     * found with {@link ServiceHelper}, or a {@link JacksonJsonCodec}
+     */
+    public static JsonCodec codec() {
+        return CODEC;
+    }
+
+    static JsonCodec loadCodec(ClassLoader classLoader) {
+        for (JsonCodecFactory factory : ServiceHelper.loadFactories(JsonCodecFactory.class, classLoader)) {
+            return factory.get();
+        }
+        // fallback to the default
+        return new JacksonJsonCodec();
+    }
+
+    /**
+     * Indents a JSON document for logging.
+     *
+     * @return the indented JSON, or the given text as is if it is not valid JSON
+     */
+    static String prettyPrint(String json) {
+        try {
+            return PRETTY_WRITER.writeValueAsString(OBJECT_MAPPER.readTree(json));
+        } catch (JsonProcessingException e) {
+            return json;
         }
     }
 }
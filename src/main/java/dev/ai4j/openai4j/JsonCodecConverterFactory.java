@@ -0,0 +1,47 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.spi.JsonCodec;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Converts the request and response bodies of the sync and async calls with a {@link JsonCodec}.
+ */
+class JsonCodecConverterFactory extends Converter.Factory {
+
+    private static final MediaType MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+
+    private final JsonCodec codec;
+
+    JsonCodecConverterFactory(JsonCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type,
+                                                          Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations,
+                                                          Retrofit retrofit) {
+        return value -> RequestBody.create(codec.toJsonBytes(value), MEDIA_TYPE);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (!(type instanceof Class)) {
+            return null;
+        }
+        Class<?> responseClass = (Class<?>) type;
+        return (ResponseBody body) -> {
+            try {
+                return codec.fromJson(body.byteStream(), responseClass);
+            } finally {
+                body.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.chat.ChatCompletionRequest;
+import dev.ai4j.openai4j.chat.PreparedChatTemplate;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Request body that serializes its value straight into the connection's sink when the request is sent,
+ * instead of building the whole JSON as a <code>String</code> and then encoding it again to UTF-8 bytes.
+ * <p>
+ * The first write streams; if the body is written again (e.g. by a retry, or by the request logging),
+ * it is serialized once more into a byte array which is then kept for any further write.
+ * The length is not known upfront, so the body is sent with chunked transfer encoding over HTTP/1.1.
+ * When it is not <code>chunked</code>, the body is serialized into the byte array before it is sent instead,
+ * so that its length is known.
+ * <p>
+ * Chat completion requests created from a {@link PreparedChatTemplate} are written by the template.
+ */
+class JsonRequestBody extends RequestBody {
+
+    private static final MediaType MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+
+    private final Object value;
+    private final boolean chunked;
+    private boolean written; // guarded by this
+    private byte[] bytes; // guarded by this
+
+    JsonRequestBody(Object value, boolean chunked) {
+        this.value = value;
+        this.chunked = chunked;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return MEDIA_TYPE;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return chunked ? -1 : bytes().length;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        byte[] bytes;
+        synchronized (this) {
+            if (chunked && !written) {
+                written = true;
+                bytes = null;
+            } else {
+                bytes = bytes();
+            }
+        }
+        if (bytes != null) {
+            sink.write(bytes);
+        } else {
+            write(sink.outputStream());
+        }
+    }
+
+    private synchronized byte[] bytes() throws IOException {
+        if (bytes == null) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            write(outputStream);
+            bytes = outputStream.toByteArray();
+        }
+        return bytes;
+    }
+
+    private void write(OutputStream outputStream) throws IOException {
+        if (value instanceof ChatCompletionRequest) {
+            ChatCompletionRequest request = (ChatCompletionRequest) value;
+            PreparedChatTemplate template = request.preparedTemplate();
+            if (template != null && template.tryWriteTo(request, outputStream)) {
+                return;
+            }
+        }
+        Json.codec().toJson(value, outputStream);
+    }
+}
@@ -11,12 +11,14 @@ import dev.ai4j.openai4j.image.GenerateImagesResponse;
 import dev.ai4j.openai4j.moderation.ModerationRequest;
 import dev.ai4j.openai4j.moderation.ModerationResponse;
 import java.util.Map;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.HeaderMap;
 import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
 
 interface OpenAiApi {
     @POST("completions")
@@ -59,6 +61,14 @@ interface OpenAiApi {
         @Body EmbeddingRequest request,
         @Query("api-version") String apiVersion);
 
+    @Streaming
+    @POST("embeddings")
+    @Headers("Content-Type: application/json")
+    Call<ResponseBody> embeddingsStreaming(
+        @HeaderMap Map<String, String> headers,
+        @Body EmbeddingRequest request,
+        @Query("api-version") String apiVersion);
+
     @POST("moderations")
     @Headers("Content-Type: application/json")
     Call<ModerationResponse> moderations(
@@ -6,8 +6,12 @@ import dev.ai4j.openai4j.chat.ChatCompletionRequest;
 import dev.ai4j.openai4j.chat.ChatCompletionResponse;
 import dev.ai4j.openai4j.completion.CompletionRequest;
 import dev.ai4j.openai4j.completion.CompletionResponse;
+import dev.ai4j.openai4j.embedding.BulkEmbeddingOptions;
+import dev.ai4j.openai4j.embedding.EmbeddingCache;
+import dev.ai4j.openai4j.embedding.EmbeddingCacheKey;
 import dev.ai4j.openai4j.embedding.EmbeddingRequest;
 import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import dev.ai4j.openai4j.embedding.EmbeddingVectorConsumer;
 import dev.ai4j.openai4j.image.GenerateImagesRequest;
 import dev.ai4j.openai4j.image.GenerateImagesResponse;
 import dev.ai4j.openai4j.moderation.ModerationRequest;
@@ -23,8 +27,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 public abstract class OpenAiClient {
 
@@ -76,6 +82,40 @@ public abstract class OpenAiClient {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Passes each vector to the consumer as soon as it has been read from the response,
+     * instead of holding the whole batch in memory.
+     *
+     * @return the response without its data: only the model and the usage
+     */
+    public SyncOrAsync<EmbeddingResponse> embedding(EmbeddingRequest request, EmbeddingVectorConsumer vectorConsumer) {
+        return embedding(new OpenAiClientContext(), request, vectorConsumer);
+    }
+
+    public SyncOrAsync<EmbeddingResponse> embedding(OpenAiClientContext clientContext,
+        EmbeddingRequest request, EmbeddingVectorConsumer vectorConsumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Embeds all inputs, packing them into as few requests as the limits of the options allow,
+     * with up to {@link BulkEmbeddingOptions#maxInFlightRequests()} requests in flight.
+     * Blocks until all inputs have been embedded.
+     *
+     * @param inputs  inputs to embed, read lazily
+     * @param options how to pack and send requests
+     * @param sink    receives the vectors in input order, on the calling thread; the index is the position of the input
+     * @return the total number of tokens used
+     */
+    public long embedAll(Iterator<String> inputs, BulkEmbeddingOptions options, EmbeddingVectorConsumer sink) {
+        return embedAll(new OpenAiClientContext(), inputs, options, sink);
+    }
+
+    public long embedAll(OpenAiClientContext clientContext, Iterator<String> inputs, BulkEmbeddingOptions options,
+        EmbeddingVectorConsumer sink) {
+        return new BulkEmbedder(this, clientContext, options).embedAll(inputs, sink);
+    }
+
     public SyncOrAsync<List<Float>> embedding(String input) {
         return embedding(new OpenAiClientContext(), input);
     }
@@ -159,12 +199,19 @@ public abstract class OpenAiClient {
         public Duration readTimeout = Duration.ofSeconds(60);
         public Duration writeTimeout = Duration.ofSeconds(60);
         public Dispatcher dispatcher;
+        public Executor callbackExecutor;
+        public int streamingCallbackQueueCapacity = 1024;
+        public StreamingOverflowPolicy streamingOverflowPolicy = StreamingOverflowPolicy.BLOCK;
+        public Duration embeddingBatchingMaxDelay;
+        public int embeddingBatchingMaxSize = 2048;
+        public EmbeddingCache embeddingCache;
         public Proxy proxy;
         public String userAgent;
         public boolean logRequests;
         public boolean logResponses;
         public LogLevel logLevel = DEBUG;
         public boolean logStreamingResponses;
+        public boolean chunkedStreamingRequests = true;
         public Path persistTo;
         public Map<String, String> customHeaders;
 
@@ -268,6 +315,89 @@ public abstract class OpenAiClient {
             return (B) this;
         }
 
+        /**
+         * Executor on which asynchronous and streaming callbacks are invoked.
+         * By default, callbacks are invoked on the OkHttp dispatcher thread that received the response.
+         * <p>
+         * When set, streaming events are only framed on the thread reading the response. Parsing and callbacks
+         * run on this executor, one event at a time and in order, via a bounded queue
+         * (see {@link #streamingCallbackQueueCapacity(int)} and {@link #streamingOverflowPolicy(StreamingOverflowPolicy)}).
+         *
+         * @param callbackExecutor executor for callbacks
+         * @return builder
+         */
+        public B callbackExecutor(Executor callbackExecutor) {
+            this.callbackExecutor = callbackExecutor;
+            return (B) this;
+        }
+
+        /**
+         * @param streamingCallbackQueueCapacity Maximum number of streaming events per stream waiting to be processed
+         *                                       on the callback executor. Default: 1024
+         * @return builder
+         */
+        public B streamingCallbackQueueCapacity(int streamingCallbackQueueCapacity) {
+            if (streamingCallbackQueueCapacity <= 0) {
+                throw new IllegalArgumentException("streamingCallbackQueueCapacity must be positive");
+            }
+            this.streamingCallbackQueueCapacity = streamingCallbackQueueCapacity;
+            return (B) this;
+        }
+
+        /**
+         * @param streamingOverflowPolicy What to do when the streaming callback queue is full. Default: BLOCK
+         * @return builder
+         */
+        public B streamingOverflowPolicy(StreamingOverflowPolicy streamingOverflowPolicy) {
+            if (streamingOverflowPolicy == null) {
+                throw new IllegalArgumentException("streamingOverflowPolicy cannot be null");
+            }
+            this.streamingOverflowPolicy = streamingOverflowPolicy;
+            return (B) this;
+        }
+
+        /**
+         * Enables micro-batching of {@link #embedding(String)} calls: concurrent calls with the same headers are
+         * collected for up to the given delay (or until {@link #embeddingBatchingMaxSize(int)} inputs are collected),
+         * sent as a single request, and each caller gets its own vector back. Disabled by default.
+         *
+         * @param embeddingBatchingMaxDelay Maximum time a call waits for other calls to join its batch
+         * @return builder
+         */
+        public B embeddingBatchingMaxDelay(Duration embeddingBatchingMaxDelay) {
+            if (embeddingBatchingMaxDelay != null && embeddingBatchingMaxDelay.isNegative()) {
+                throw new IllegalArgumentException("embeddingBatchingMaxDelay cannot be negative");
+            }
+            this.embeddingBatchingMaxDelay = embeddingBatchingMaxDelay;
+            return (B) this;
+        }
+
+        /**
+         * @param embeddingBatchingMaxSize Maximum number of inputs in a batched embedding request. Default: 2048
+         * @return builder
+         */
+        public B embeddingBatchingMaxSize(int embeddingBatchingMaxSize) {
+            if (embeddingBatchingMaxSize <= 0 || embeddingBatchingMaxSize > 2048) {
+                throw new IllegalArgumentException("embeddingBatchingMaxSize must be between 1 and 2048");
+            }
+            this.embeddingBatchingMaxSize = embeddingBatchingMaxSize;
+            return (B) this;
+        }
+
+        /**
+         * Caches the vectors returned by {@link #embedding(EmbeddingRequest)} and {@link #embedding(String)},
+         * keyed by model, dimensions and text (see {@link EmbeddingCacheKey}). Cached inputs are not sent again,
+         * and an input repeated within a request is sent only once.
+         * Streaming and bulk embedding calls bypass the cache. Disabled by default.
+         *
+         * @param embeddingCache e.g. an {@link dev.ai4j.openai4j.embedding.InMemoryEmbeddingCache}
+         * @return builder
+         */
+        public B embeddingCache(EmbeddingCache embeddingCache) {
+            this.embeddingCache = embeddingCache;
+            return (B) this;
+        }
+
         public B proxy(Proxy.Type type, String ip, int port) {
             this.proxy = new Proxy(type, new InetSocketAddress(ip, port));
             return (B) this;
@@ -327,6 +457,20 @@ public abstract class OpenAiClient {
             return (B) this;
         }
 
+        /**
+         * Streaming requests are serialized straight into the connection while they are sent, so their length
+         * is not known upfront and they are sent with chunked transfer encoding.
+         * Disable this for servers or proxies that do not accept chunked request bodies: the request is then
+         * serialized to bytes first and sent with a <code>Content-Length</code>.
+         *
+         * @param chunkedStreamingRequests whether to send streaming requests chunked. Default: true
+         * @return builder
+         */
+        public B chunkedStreamingRequests(boolean chunkedStreamingRequests) {
+            this.chunkedStreamingRequests = chunkedStreamingRequests;
+            return (B) this;
+        }
+
         /**
          * Generated response will be persisted under <code>java.io.tmpdir</code>. Used with images generation for the moment only.
          * The URL within <code>dev.ai4j.openai4j.image.GenerateImagesResponse</code> will contain the URL to local images then.
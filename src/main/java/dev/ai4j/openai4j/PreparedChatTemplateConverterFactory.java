@@ -0,0 +1,42 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.chat.ChatCompletionRequest;
+import dev.ai4j.openai4j.chat.PreparedChatTemplate;
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Writes the chat completion requests created from a {@link PreparedChatTemplate} with the template,
+ * and leaves any other request body to the next converter.
+ */
+class PreparedChatTemplateConverterFactory extends Converter.Factory {
+
+    private static final MediaType MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type,
+                                                          Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations,
+                                                          Retrofit retrofit) {
+        if (type != ChatCompletionRequest.class) {
+            return null;
+        }
+        Converter<ChatCompletionRequest, RequestBody> delegate =
+                retrofit.nextRequestBodyConverter(this, type, parameterAnnotations, methodAnnotations);
+        return (ChatCompletionRequest request) -> {
+            PreparedChatTemplate template = request.preparedTemplate();
+            if (template != null) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                if (template.tryWriteTo(request, outputStream)) {
+                    return RequestBody.create(outputStream.toByteArray(), MEDIA_TYPE);
+                }
+            }
+            return delegate.convert(request);
+        };
+    }
+}
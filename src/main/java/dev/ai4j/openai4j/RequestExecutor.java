@@ -19,6 +19,8 @@ class RequestExecutor<Request, Response, ResponseContent>
     private final Class<Response> responseClass;
     private final Function<Response, ResponseContent> streamEventContentExtractor;
     private final boolean logStreamingResponses;
+    private final boolean chunkedRequests;
+    private final Supplier<StreamingCallbackQueue> callbackQueueSupplier;
 
     RequestExecutor(Call<Response> call,
                     Function<Response, ResponseContent> responseContentExtractor,
@@ -28,7 +30,9 @@ class RequestExecutor<Request, Response, ResponseContent>
                     Supplier<Request> requestWithStreamSupplier,
                     Class<Response> responseClass,
                     Function<Response, ResponseContent> streamEventContentExtractor,
-                    boolean logStreamingResponses
+                    boolean logStreamingResponses,
+                    boolean chunkedRequests,
+                    Supplier<StreamingCallbackQueue> callbackQueueSupplier
     ) {
         this.call = call;
         this.responseContentExtractor = responseContentExtractor;
@@ -39,6 +43,8 @@ class RequestExecutor<Request, Response, ResponseContent>
         this.responseClass = responseClass;
         this.streamEventContentExtractor = streamEventContentExtractor;
         this.logStreamingResponses = logStreamingResponses;
+        this.chunkedRequests = chunkedRequests;
+        this.callbackQueueSupplier = callbackQueueSupplier;
     }
 
     RequestExecutor(Call<Response> call, Function<Response, ResponseContent> responseContentExtractor) {
@@ -51,6 +57,8 @@ class RequestExecutor<Request, Response, ResponseContent>
         this.responseClass = null;
         this.streamEventContentExtractor = null;
         this.logStreamingResponses = false;
+        this.chunkedRequests = false;
+        this.callbackQueueSupplier = null;
     }
 
     @Override
@@ -74,7 +82,9 @@ class RequestExecutor<Request, Response, ResponseContent>
                 requestWithStreamSupplier,
                 responseClass,
                 streamEventContentExtractor,
-                logStreamingResponses
+                logStreamingResponses,
+                chunkedRequests,
+                callbackQueueSupplier
         ).onPartialResponse(partialResponseHandler);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package dev.ai4j.openai4j;
 
 import okhttp3.Headers;
 import okhttp3.Interceptor;
+import okhttp3.MediaType;
 import okhttp3.Request;
 import okhttp3.Response;
 import okio.Buffer;
@@ -145,7 +146,10 @@ class RequestLoggingInterceptor implements Interceptor {
         try {
             Buffer buffer = new Buffer();
             request.body().writeTo(buffer);
-            return buffer.readUtf8();
+            String body = buffer.readUtf8();
+            MediaType contentType = request.body().contentType();
+            // bodies are sent compact, they are only indented for readability of the logs
+            return contentType != null && "json".equals(contentType.subtype()) ? Json.prettyPrint(body) : body;
         } catch (Exception e) {
             log.warn("Exception happened while reading request body", e);
             return "[Exception happened while reading request body. Check logs for more details.]";
@@ -1,16 +1,67 @@
 package dev.ai4j.openai4j;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
- * Provides a mechanism to cancel the response after a request has been initiated.
+ * Provides a mechanism to cancel the response after a request has been initiated,
+ * and to get notified when the response has been fully handled.
  */
 public class ResponseHandle {
 
     volatile boolean cancelled = false;
 
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private Runnable cancellation; // guarded by this
+
     /**
-     * Cancels the response. Currently, this only works for streaming. It has no effect on regular asynchronous responses.
+     * Cancels the response. The underlying HTTP call (or event stream) is aborted immediately,
+     * releasing the connection. No further callbacks are invoked after cancellation.
      */
     public void cancel() {
-        cancelled = true;
+        Runnable cancellation;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            cancellation = this.cancellation;
+        }
+        if (cancellation != null) {
+            cancellation.run();
+        } else {
+            completion.complete(null);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return a stage that is completed once the response has been fully handled or the cancelled call has been aborted,
+     * or completed exceptionally with the error passed to the error handler
+     */
+    public CompletionStage<Void> completion() {
+        return completion;
+    }
+
+    void onCancel(Runnable cancellation) {
+        boolean alreadyCancelled;
+        synchronized (this) {
+            this.cancellation = cancellation;
+            alreadyCancelled = cancelled;
+        }
+        if (alreadyCancelled) {
+            cancellation.run();
+        }
+    }
+
+    void complete() {
+        completion.complete(null);
+    }
+
+    void completeExceptionally(Throwable error) {
+        completion.completeExceptionally(error);
     }
 }
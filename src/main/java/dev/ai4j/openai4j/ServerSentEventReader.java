@@ -0,0 +1,122 @@
+package dev.ai4j.openai4j;
+
+import okio.BufferedSource;
+import okio.ByteString;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">server-sent events</a>
+ * straight from a {@link BufferedSource}. Only the <code>data</code> field is kept: its bytes are copied into
+ * a buffer that is reused for every event, without decoding them into a <code>String</code>.
+ * Other fields and comments are skipped.
+ */
+class ServerSentEventReader {
+
+    interface DataHandler {
+
+        /**
+         * @param data   buffer holding the UTF-8 bytes of the event data, only valid until this method returns
+         * @param length number of bytes of the event data
+         */
+        void onData(byte[] data, int length) throws IOException;
+    }
+
+    private static final ByteString CRLF = ByteString.encodeUtf8("\r\n");
+    private static final ByteString DATA = ByteString.encodeUtf8("data:");
+    private static final byte[] DONE = {'[', 'D', 'O', 'N', 'E', ']'};
+
+    private final BufferedSource source;
+
+    private byte[] data = new byte[4096];
+    private int dataLength = -1; // -1 while the current event has no data field
+
+    ServerSentEventReader(BufferedSource source) {
+        this.source = source;
+    }
+
+    /**
+     * Reads lines until the next event with data has been dispatched to the handler.
+     *
+     * @return false if the end of the stream was reached
+     */
+    boolean processNextEvent(DataHandler handler) throws IOException {
+        while (true) {
+            long lineLength = source.indexOfElement(CRLF);
+            if (lineLength == -1) {
+                return false; // an incomplete event at the end of the stream is discarded, as per spec
+            }
+
+            if (lineLength == 0) {
+                skipLineEnd();
+                if (dataLength >= 0) {
+                    int length = dataLength;
+                    dataLength = -1;
+                    handler.onData(data, length);
+                    return true;
+                }
+                continue;
+            }
+
+            if (lineLength >= DATA.size() && source.rangeEquals(0, DATA)) {
+                source.skip(DATA.size());
+                long valueLength = lineLength - DATA.size();
+                if (valueLength > 0 && source.getBuffer().getByte(0) == ' ') {
+                    source.skip(1);
+                    valueLength--;
+                }
+                appendData((int) valueLength);
+            } else {
+                source.skip(lineLength); // comments and fields other than data are not used
+            }
+            skipLineEnd();
+        }
+    }
+
+    static boolean isDone(byte[] data, int length) {
+        if (length != DONE.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (data[i] != DONE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendData(int length) throws IOException {
+        int offset;
+        if (dataLength < 0) {
+            offset = 0;
+            ensureCapacity(length);
+        } else {
+            ensureCapacity(dataLength + 1 + length);
+            data[dataLength] = '\n'; // multiple data lines are joined with a line feed
+            offset = dataLength + 1;
+        }
+        int end = offset + length;
+        while (offset < end) {
+            int read = source.read(data, offset, end - offset);
+            if (read == -1) {
+                throw new IOException("Unexpected end of stream");
+            }
+            offset += read;
+        }
+        dataLength = end;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+        }
+    }
+
+    private void skipLineEnd() throws IOException {
+        byte lineEnd = source.readByte();
+        if (lineEnd == '\r' && source.request(1) && source.getBuffer().getByte(0) == '\n') {
+            source.skip(1);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package dev.ai4j.openai4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Hands streaming callbacks over from the thread reading the response to a callback executor.
+ * Callbacks are executed one at a time, in the order they were offered, and the final callback
+ * (completion or error) always runs after all previously offered callbacks. Callbacks offered once the final
+ * callback has been offered are rejected, and nothing runs after the final callback.
+ * Without an executor, callbacks are executed immediately on the calling thread.
+ */
+class StreamingCallbackQueue {
+
+    private static final long BLOCK_POLL_INTERVAL_MILLIS = 100;
+
+    private final Executor executor;
+    private final BlockingQueue<Runnable> queue;
+    private final StreamingOverflowPolicy overflowPolicy;
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicReference<Runnable> finalCallback = new AtomicReference<>();
+    private final AtomicBoolean finalCallbackExecuted = new AtomicBoolean();
+
+    StreamingCallbackQueue(Executor executor, int capacity, StreamingOverflowPolicy overflowPolicy) {
+        this.executor = executor;
+        this.queue = executor == null ? null : new ArrayBlockingQueue<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    static StreamingCallbackQueue direct() {
+        return new StreamingCallbackQueue(null, 0, null);
+    }
+
+    /**
+     * @return true if callbacks are executed immediately on the calling thread
+     */
+    boolean isDirect() {
+        return executor == null;
+    }
+
+    /**
+     * @param callback  callback to execute
+     * @param cancelled stops waiting for space in the queue when it returns true
+     * @return false if the queue is full and the overflow policy does not allow waiting, if waiting was cancelled,
+     * or if the final callback was already offered
+     */
+    boolean offer(Runnable callback, BooleanSupplier cancelled) {
+        if (finalCallback.get() != null) {
+            return false;
+        }
+        if (executor == null) {
+            callback.run();
+            return true;
+        }
+
+        boolean offered = queue.offer(callback);
+        if (overflowPolicy == StreamingOverflowPolicy.BLOCK) {
+            try {
+                while (!offered && !cancelled.getAsBoolean()) {
+                    offered = queue.offer(callback, BLOCK_POLL_INTERVAL_MILLIS, MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (offered) {
+            scheduleDrain();
+        }
+        return offered;
+    }
+
+    /**
+     * Offers the final callback. Only the first final callback is executed, all later ones are ignored.
+     */
+    void offerLast(Runnable callback) {
+        if (!finalCallback.compareAndSet(null, callback)) {
+            return;
+        }
+        if (executor == null) {
+            runFinalCallback();
+        } else {
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable callback;
+            while (!finalCallbackExecuted.get() && (callback = queue.poll()) != null) {
+                callback.run();
+            }
+            if (finalCallback.get() != null) {
+                runFinalCallback();
+            }
+        } finally {
+            draining.set(false);
+            if (finalCallbackExecuted.get()) {
+                queue.clear(); // offered concurrently with the final callback, too late to run
+            } else if (!queue.isEmpty() || finalCallback.get() != null) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private void runFinalCallback() {
+        if (finalCallbackExecuted.compareAndSet(false, true)) {
+            finalCallback.get().run();
+        }
+    }
+}
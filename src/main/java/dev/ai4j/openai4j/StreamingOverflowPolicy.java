@@ -0,0 +1,19 @@
+package dev.ai4j.openai4j;
+
+/**
+ * What to do when streaming events arrive faster than the callback executor can process them
+ * and the bounded callback queue is full.
+ */
+public enum StreamingOverflowPolicy {
+
+    /**
+     * The thread reading the response waits until there is space in the queue.
+     * Reading from the connection pauses meanwhile, so the server is slowed down instead of buffering without limit.
+     */
+    BLOCK,
+
+    /**
+     * The stream is cancelled and the error handler receives a {@link java.util.concurrent.RejectedExecutionException}.
+     */
+    FAIL
+}
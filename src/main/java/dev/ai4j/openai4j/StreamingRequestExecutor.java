@@ -1,20 +1,25 @@
 package dev.ai4j.openai4j;
 
+import dev.ai4j.openai4j.spi.JsonCodec;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
-import okhttp3.RequestBody;
-import okhttp3.sse.EventSource;
-import okhttp3.sse.EventSourceListener;
-import okhttp3.sse.EventSources;
+import okhttp3.ResponseBody;
+import okio.AsyncTimeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import static dev.ai4j.openai4j.Utils.toException;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 class StreamingRequestExecutor<Request, Response, ResponseContent> {
 
@@ -23,9 +28,12 @@ class StreamingRequestExecutor<Request, Response, ResponseContent> {
     private final OkHttpClient okHttpClient;
     private final String endpointUrl;
     private final Supplier<Request> requestWithStreamSupplier;
+    private final JsonCodec codec = Json.codec();
     private final Class<Response> responseClass;
     private final Function<Response, ResponseContent> streamEventContentExtractor;
     private final boolean logStreamingResponses;
+    private final boolean chunkedRequests;
+    private final Supplier<StreamingCallbackQueue> callbackQueueSupplier;
     private final ResponseLoggingInterceptor responseLogger = new ResponseLoggingInterceptor();
 
     StreamingRequestExecutor(
@@ -34,7 +42,9 @@ class StreamingRequestExecutor<Request, Response, ResponseContent> {
             Supplier<Request> requestWithStreamSupplier,
             Class<Response> responseClass,
             Function<Response, ResponseContent> streamEventContentExtractor,
-            boolean logStreamingResponses
+            boolean logStreamingResponses,
+            boolean chunkedRequests,
+            Supplier<StreamingCallbackQueue> callbackQueueSupplier
     ) {
         this.okHttpClient = okHttpClient;
         this.endpointUrl = endpointUrl;
@@ -42,6 +52,8 @@ class StreamingRequestExecutor<Request, Response, ResponseContent> {
         this.responseClass = responseClass;
         this.streamEventContentExtractor = streamEventContentExtractor;
         this.logStreamingResponses = logStreamingResponses;
+        this.chunkedRequests = chunkedRequests;
+        this.callbackQueueSupplier = callbackQueueSupplier;
     }
 
     StreamingResponseHandling onPartialResponse(Consumer<ResponseContent> partialResponseHandler) {
@@ -132,59 +144,71 @@ class StreamingRequestExecutor<Request, Response, ResponseContent> {
 
         Request request = requestWithStreamSupplier.get();
 
-        String requestJson = Json.toJson(request);
-
         okhttp3.Request okHttpRequest = new okhttp3.Request.Builder()
                 .url(endpointUrl)
-                .post(RequestBody.create(requestJson, MediaType.get("application/json; charset=utf-8")))
+                .post(new JsonRequestBody(request, chunkedRequests))
                 .build();
 
         ResponseHandle responseHandle = new ResponseHandle();
+        StreamingCallbackQueue callbackQueue = callbackQueueSupplier.get();
+        AtomicBoolean overflowed = new AtomicBoolean(); // the stream was failed because the callback queue is full
 
-        EventSourceListener eventSourceListener = new EventSourceListener() {
+        Callback callback = new Callback() {
 
             @Override
-            public void onOpen(EventSource eventSource, okhttp3.Response response) {
-                if (responseHandle.cancelled) {
-                    eventSource.cancel();
-                    return;
-                }
+            public void onResponse(Call call, okhttp3.Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (responseHandle.cancelled) {
+                        responseHandle.complete();
+                        return;
+                    }
 
-                if (logStreamingResponses) {
-                    responseLogger.log(response);
-                }
-            }
+                    if (logStreamingResponses) {
+                        responseLogger.log(response);
+                    }
 
-            @Override
-            public void onEvent(EventSource eventSource, String id, String type, String data) {
-                if (responseHandle.cancelled) {
-                    eventSource.cancel();
-                    return;
-                }
+                    if (!response.isSuccessful()) {
+                        fail(toException(response));
+                        return;
+                    }
 
-                if (logStreamingResponses) {
-                    log.debug("onEvent() {}", data);
-                }
+                    if (!isEventStream(body)) {
+                        fail(new IllegalStateException("Invalid content-type: " + body.contentType()));
+                        return;
+                    }
 
-                if ("[DONE]".equals(data)) {
-                    return;
-                }
+                    // this is a long-lived response, the call timeout applies only until the response starts
+                    if (call.timeout() instanceof AsyncTimeout) {
+                        ((AsyncTimeout) call.timeout()).exit();
+                    }
 
-                try {
-                    Response response = Json.fromJson(data, responseClass);
-                    ResponseContent responseContent = streamEventContentExtractor.apply(response);
-                    if (responseContent != null) {
-                        partialResponseHandler.accept(responseContent); // do not handle exception, fail-fast
+                    ServerSentEventReader reader = new ServerSentEventReader(body.source());
+                    while (!responseHandle.cancelled && !overflowed.get()
+                            && reader.processNextEvent((data, length) -> onData(call, data, length))) {
+                        // events are handled in onData()
                     }
                 } catch (Exception e) {
-                    errorHandler.accept(e);
+                    if (responseHandle.cancelled) {
+                        responseHandle.complete();
+                        return;
+                    }
+                    if (overflowed.get()) {
+                        return; // already failed, the error is the one of the cancelled call
+                    }
+
+                    if (logStreamingResponses) {
+                        log.debug("onFailure()", e);
+                    }
+
+                    fail(e);
+                    return;
                 }
-            }
 
-            @Override
-            public void onClosed(EventSource eventSource) {
                 if (responseHandle.cancelled) {
-                    eventSource.cancel();
+                    responseHandle.complete();
+                    return;
+                }
+                if (overflowed.get()) {
                     return;
                 }
 
@@ -192,41 +216,101 @@ class StreamingRequestExecutor<Request, Response, ResponseContent> {
                     log.debug("onClosed()");
                 }
 
-                streamingCompletionCallback.run();
+                complete();
             }
 
             @Override
-            public void onFailure(EventSource eventSource, Throwable t, okhttp3.Response response) {
+            public void onFailure(Call call, IOException e) {
                 if (responseHandle.cancelled) {
+                    responseHandle.complete();
                     return;
                 }
-
-                // TODO remove this when migrating from okhttp
-                if (t instanceof IllegalArgumentException && "byteCount < 0: -1".equals(t.getMessage())) {
-                    streamingCompletionCallback.run();
+                if (overflowed.get()) {
                     return;
                 }
 
                 if (logStreamingResponses) {
-                    log.debug("onFailure()", t);
-                    responseLogger.log(response);
+                    log.debug("onFailure()", e);
+                }
+
+                fail(e);
+            }
+
+            private void onData(Call call, byte[] data, int length) {
+                if (logStreamingResponses) {
+                    log.debug("onEvent() {}", new String(data, 0, length, UTF_8));
+                }
+
+                if (ServerSentEventReader.isDone(data, length)) {
+                    return;
                 }
 
-                if (t != null) {
-                    errorHandler.accept(t); // TODO also include information from response?
-                } else {
+                // the reader reuses its buffer, so the data is copied only if it is parsed on another thread
+                byte[] eventData = callbackQueue.isDirect() ? data : Arrays.copyOf(data, length);
+
+                boolean offered = callbackQueue.offer(() -> {
+                    if (responseHandle.cancelled || overflowed.get()) {
+                        return;
+                    }
                     try {
-                        errorHandler.accept(toException(response));
-                    } catch (IOException e) {
-                        errorHandler.accept(e); // TODO right thing to do?
+                        Response response = codec.fromJson(eventData, 0, length, responseClass);
+                        ResponseContent responseContent = streamEventContentExtractor.apply(response);
+                        if (responseContent != null) {
+                            partialResponseHandler.accept(responseContent); // do not handle exception, fail-fast
+                        }
+                    } catch (Exception e) {
+                        errorHandler.accept(e);
                     }
+                }, () -> responseHandle.cancelled);
+
+                if (!offered && !responseHandle.cancelled && overflowed.compareAndSet(false, true)) {
+                    // set before failing, so that the reader stops and the callbacks still queued are skipped
+                    fail(new RejectedExecutionException("Streaming callback queue is full, cancelling the stream"));
+                    call.cancel();
                 }
             }
+
+            private void complete() {
+                callbackQueue.offerLast(() -> {
+                    if (responseHandle.cancelled) {
+                        responseHandle.complete();
+                        return;
+                    }
+                    try {
+                        streamingCompletionCallback.run();
+                    } finally {
+                        responseHandle.complete();
+                    }
+                });
+            }
+
+            private void fail(Throwable error) {
+                callbackQueue.offerLast(() -> {
+                    if (responseHandle.cancelled) {
+                        responseHandle.complete();
+                        return;
+                    }
+                    try {
+                        errorHandler.accept(error);
+                    } finally {
+                        responseHandle.completeExceptionally(error);
+                    }
+                });
+            }
         };
 
-        EventSources.createFactory(okHttpClient)
-                .newEventSource(okHttpRequest, eventSourceListener);
+        Call call = okHttpClient.newCall(okHttpRequest);
+        call.enqueue(callback);
+
+        responseHandle.onCancel(call::cancel);
 
         return responseHandle;
     }
+
+    private static boolean isEventStream(ResponseBody body) {
+        MediaType contentType = body.contentType();
+        return contentType != null
+                && "text".equals(contentType.type())
+                && "event-stream".equals(contentType.subtype());
+    }
 }
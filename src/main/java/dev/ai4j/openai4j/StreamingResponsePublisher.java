@@ -0,0 +1,125 @@
+package dev.ai4j.openai4j;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cold {@link Publisher} of partial responses. Each subscriber gets its own HTTP request, which is sent
+ * when the subscriber first requests data.
+ * <p>
+ * Partial responses are delivered on the thread that reads the response.
+ * When there is no outstanding demand, that thread waits until {@link Subscription#request(long)} is called,
+ * so reading from the socket pauses and at most one partial response is held in memory per stream.
+ * <p>
+ * An error (e.g. a partial response that cannot be parsed) cancels the stream: nothing is signalled after
+ * <code>onError</code>.
+ */
+class StreamingResponsePublisher<ResponseContent> implements Publisher<ResponseContent> {
+
+    private final SyncOrAsyncOrStreaming<ResponseContent> streaming;
+
+    StreamingResponsePublisher(SyncOrAsyncOrStreaming<ResponseContent> streaming) {
+        this.streaming = streaming;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ResponseContent> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber cannot be null");
+        }
+        StreamingSubscription subscription = new StreamingSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private class StreamingSubscription implements Subscription {
+
+        private final Subscriber<? super ResponseContent> subscriber;
+        private final Object lock = new Object();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        private long demand; // guarded by lock
+        private volatile boolean cancelled;
+        private volatile ResponseHandle responseHandle;
+
+        StreamingSubscription(Subscriber<? super ResponseContent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                if (terminated.compareAndSet(false, true)) {
+                    subscriber.onError(new IllegalArgumentException(
+                            "Number of requested elements must be positive, but was " + n));
+                }
+                return;
+            }
+
+            synchronized (lock) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                lock.notifyAll();
+            }
+
+            if (started.compareAndSet(false, true) && !cancelled) {
+                responseHandle = streaming.onPartialResponse(this::onNext)
+                        .onComplete(() -> terminate(subscriber::onComplete))
+                        .onError(this::onError)
+                        .execute();
+                if (cancelled) {
+                    responseHandle.cancel();
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+            ResponseHandle handle = responseHandle;
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+
+        private void onNext(ResponseContent partialResponse) {
+            synchronized (lock) {
+                while (demand == 0 && !cancelled && !terminated.get()) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        cancel();
+                    }
+                }
+                if (cancelled || terminated.get()) {
+                    return;
+                }
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            }
+            subscriber.onNext(partialResponse);
+        }
+
+        private void onError(Throwable error) {
+            if (terminate(() -> subscriber.onError(error))) {
+                cancel(); // the stream may still be open, e.g. after a parsing error
+            }
+        }
+
+        private boolean terminate(Runnable signal) {
+            if (!cancelled && terminated.compareAndSet(false, true)) {
+                signal.run();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.ai4j.openai4j;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface SyncOrAsync<ResponseContent> {
@@ -7,4 +8,23 @@ public interface SyncOrAsync<ResponseContent> {
     ResponseContent execute();
 
     AsyncResponseHandling onResponse(Consumer<ResponseContent> responseHandler);
-}
\ No newline at end of file
+
+    /**
+     * Sends the request without blocking the calling thread.
+     * Cancelling the returned future cancels the response (see {@link ResponseHandle#cancel()}).
+     *
+     * @return a future that is completed with the response content, or exceptionally if the request failed
+     */
+    default CompletableFuture<ResponseContent> executeAsync() {
+        CompletableFuture<ResponseContent> future = new CompletableFuture<>();
+        ResponseHandle responseHandle = onResponse(future::complete)
+                .onError(future::completeExceptionally)
+                .execute();
+        future.whenComplete((responseContent, error) -> {
+            if (future.isCancelled()) {
+                responseHandle.cancel();
+            }
+        });
+        return future;
+    }
+}
@@ -1,8 +1,54 @@
 package dev.ai4j.openai4j;
 
+import org.reactivestreams.Publisher;
+
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.stream.Collector;
 
 public interface SyncOrAsyncOrStreaming<ResponseContent> extends SyncOrAsync<ResponseContent> {
 
     StreamingResponseHandling onPartialResponse(Consumer<ResponseContent> partialResponseHandler);
-}
\ No newline at end of file
+
+    /**
+     * Streams the response without blocking the calling thread, aggregating partial responses with the given collector.
+     * For example, <code>Collectors.joining()</code> aggregates a stream of <code>String</code> tokens into the full text.
+     * Cancelling the returned future cancels the response (see {@link ResponseHandle#cancel()}).
+     *
+     * @param collector aggregates partial responses in the order they are received
+     * @return a future that is completed with the aggregated result once the stream is complete,
+     * or exceptionally if streaming failed
+     */
+    default <A, R> CompletableFuture<R> executeStreamingAsync(Collector<? super ResponseContent, A, R> collector) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        A container = collector.supplier().get();
+        ResponseHandle responseHandle = onPartialResponse(partialResponse -> collector.accumulator().accept(container, partialResponse))
+                .onComplete(() -> {
+                    try {
+                        future.complete(collector.finisher().apply(container));
+                    } catch (Exception e) {
+                        future.completeExceptionally(e);
+                    }
+                })
+                .onError(future::completeExceptionally)
+                .execute();
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                responseHandle.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Exposes the streamed response as a Reactive Streams {@link Publisher} that honours backpressure.
+     * The request is sent when a subscriber first requests data, and every subscriber gets its own request.
+     * When the subscriber has no outstanding demand, reading from the connection is paused.
+     * Use <code>org.reactivestreams.FlowAdapters</code> to obtain a <code>java.util.concurrent.Flow.Publisher</code>.
+     *
+     * @return a publisher of partial responses
+     */
+    default Publisher<ResponseContent> toPublisher() {
+        return new StreamingResponsePublisher<>(this);
+    }
+}
@@ -77,6 +77,7 @@ public final class ChatCompletionRequest {
     @JsonProperty
     @Deprecated
     private final FunctionCall functionCall;
+    private final PreparedChatTemplate preparedTemplate;
 
     private ChatCompletionRequest(Builder builder) {
         this.model = builder.model;
@@ -104,6 +105,7 @@ public final class ChatCompletionRequest {
         this.serviceTier = builder.serviceTier;
         this.functions = builder.functions;
         this.functionCall = builder.functionCall;
+        this.preparedTemplate = builder.preparedTemplate;
     }
 
     public String model() {
@@ -134,6 +136,13 @@ public final class ChatCompletionRequest {
         return streamOptions;
     }
 
+    /**
+     * @return the template this request was created from, see {@link PreparedChatTemplate#request(List)}, or null
+     */
+    public PreparedChatTemplate preparedTemplate() {
+        return preparedTemplate;
+    }
+
     public List<String> stop() {
         return stop;
     }
@@ -341,6 +350,7 @@ public final class ChatCompletionRequest {
         private List<Function> functions;
         @Deprecated
         private FunctionCall functionCall;
+        private PreparedChatTemplate preparedTemplate;
 
         private Builder() {
         }
@@ -371,6 +381,12 @@ public final class ChatCompletionRequest {
             serviceTier(instance.serviceTier);
             functions(instance.functions);
             functionCall(instance.functionCall);
+            preparedTemplate(instance.preparedTemplate);
+            return this;
+        }
+
+        Builder preparedTemplate(PreparedChatTemplate preparedTemplate) {
+            this.preparedTemplate = preparedTemplate;
             return this;
         }
 
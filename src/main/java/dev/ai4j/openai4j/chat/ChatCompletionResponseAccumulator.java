@@ -0,0 +1,342 @@
+package dev.ai4j.openai4j.chat;
+
+import dev.ai4j.openai4j.shared.Usage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Rebuilds a complete {@link ChatCompletionResponse} from streamed chunks.
+ * <p>
+ * Content and tool call arguments are appended to per-choice and per-tool-call {@link StringBuilder}s,
+ * tool calls are merged by {@link ToolCall#index()}, and the last finish reason and usage win.
+ * The accumulated response contains one {@link AssistantMessage} per choice.
+ * <p>
+ * Can be passed directly as the partial response handler:
+ * <pre>
+ * ChatCompletionResponseAccumulator accumulator = new ChatCompletionResponseAccumulator();
+ * client.chatCompletion(request)
+ *         .onPartialResponse(accumulator)
+ *         .onComplete(() -&gt; handle(accumulator.build()))
+ *         .onError(error -&gt; ...)
+ *         .execute();
+ * </pre>
+ * or as a collector: <code>client.chatCompletion(request).executeStreamingAsync(ChatCompletionResponseAccumulator.collector())</code>.
+ * The collector also works on ordered parallel streams of chunks: partial accumulations are merged in order.
+ * <p>
+ * This class is thread-safe.
+ */
+public class ChatCompletionResponseAccumulator implements Consumer<ChatCompletionResponse> {
+
+    private static final int DEFAULT_CONTENT_CAPACITY = 1024;
+    private static final int DEFAULT_ARGUMENTS_CAPACITY = 256;
+
+    private final int contentCapacity;
+    private final int argumentsCapacity;
+
+    private String id;
+    private Integer created;
+    private String model;
+    private String systemFingerprint;
+    private String serviceTier;
+    private Usage usage;
+    private final List<ChoiceAccumulator> choices = new ArrayList<>(1);
+
+    public ChatCompletionResponseAccumulator() {
+        this(DEFAULT_CONTENT_CAPACITY, DEFAULT_ARGUMENTS_CAPACITY);
+    }
+
+    /**
+     * @param contentCapacity   initial capacity of the content buffer of each choice
+     * @param argumentsCapacity initial capacity of the arguments buffer of each tool call
+     */
+    public ChatCompletionResponseAccumulator(int contentCapacity, int argumentsCapacity) {
+        this.contentCapacity = contentCapacity;
+        this.argumentsCapacity = argumentsCapacity;
+    }
+
+    @Override
+    public synchronized void accept(ChatCompletionResponse partialResponse) {
+        if (partialResponse == null) {
+            return;
+        }
+
+        if (id == null) {
+            id = partialResponse.id();
+        }
+        if (created == null) {
+            created = partialResponse.created();
+        }
+        if (model == null) {
+            model = partialResponse.model();
+        }
+        if (systemFingerprint == null) {
+            systemFingerprint = partialResponse.systemFingerprint();
+        }
+        if (serviceTier == null) {
+            serviceTier = partialResponse.serviceTier();
+        }
+        if (partialResponse.usage() != null) {
+            usage = partialResponse.usage();
+        }
+
+        List<ChatCompletionChoice> partialChoices = partialResponse.choices();
+        if (partialChoices == null) {
+            return;
+        }
+        for (ChatCompletionChoice partialChoice : partialChoices) {
+            int index = partialChoice.index() != null ? partialChoice.index() : 0;
+            choice(index).append(partialChoice);
+        }
+    }
+
+    /**
+     * @return the response accumulated so far
+     */
+    public synchronized ChatCompletionResponse build() {
+        List<ChatCompletionChoice> builtChoices = new ArrayList<>(choices.size());
+        for (int i = 0; i < choices.size(); i++) {
+            ChoiceAccumulator choice = choices.get(i);
+            if (choice != null) {
+                builtChoices.add(choice.build(i));
+            }
+        }
+
+        return ChatCompletionResponse.builder()
+                .id(id)
+                .created(created)
+                .model(model)
+                .choices(builtChoices)
+                .usage(usage)
+                .systemFingerprint(systemFingerprint)
+                .serviceTier(serviceTier)
+                .build();
+    }
+
+    /**
+     * @return a collector that accumulates streamed chunks into a complete {@link ChatCompletionResponse}
+     */
+    public static Collector<ChatCompletionResponse, ?, ChatCompletionResponse> collector() {
+        return Collector.of(
+                ChatCompletionResponseAccumulator::new,
+                ChatCompletionResponseAccumulator::accept,
+                ChatCompletionResponseAccumulator::merge,
+                ChatCompletionResponseAccumulator::build
+        );
+    }
+
+    /**
+     * Appends the chunks accumulated by another accumulator, which came after the chunks of this one.
+     */
+    private ChatCompletionResponseAccumulator merge(ChatCompletionResponseAccumulator later) {
+        synchronized (this) {
+            synchronized (later) {
+                if (id == null) {
+                    id = later.id;
+                }
+                if (created == null) {
+                    created = later.created;
+                }
+                if (model == null) {
+                    model = later.model;
+                }
+                if (systemFingerprint == null) {
+                    systemFingerprint = later.systemFingerprint;
+                }
+                if (serviceTier == null) {
+                    serviceTier = later.serviceTier;
+                }
+                if (later.usage != null) {
+                    usage = later.usage;
+                }
+                for (int i = 0; i < later.choices.size(); i++) {
+                    if (later.choices.get(i) != null) {
+                        choice(i).merge(later.choices.get(i));
+                    }
+                }
+                return this;
+            }
+        }
+    }
+
+    private ChoiceAccumulator choice(int index) {
+        while (choices.size() <= index) {
+            choices.add(null);
+        }
+        ChoiceAccumulator choice = choices.get(index);
+        if (choice == null) {
+            choice = new ChoiceAccumulator();
+            choices.set(index, choice);
+        }
+        return choice;
+    }
+
+    private class ChoiceAccumulator {
+
+        private StringBuilder content;
+        private String finishReason;
+        private final List<ToolCallAccumulator> toolCalls = new ArrayList<>(1);
+        private String functionName;
+        private StringBuilder functionArguments;
+
+        @SuppressWarnings("deprecation") // the legacy function call is still accumulated
+        void append(ChatCompletionChoice partialChoice) {
+            if (partialChoice.finishReason() != null) {
+                finishReason = partialChoice.finishReason();
+            }
+
+            Delta delta = partialChoice.delta();
+            if (delta == null) {
+                return;
+            }
+
+            if (delta.content() != null) {
+                if (content == null) {
+                    content = new StringBuilder(Math.max(contentCapacity, delta.content().length()));
+                }
+                content.append(delta.content());
+            }
+
+            if (delta.toolCalls() != null) {
+                for (ToolCall partialToolCall : delta.toolCalls()) {
+                    int index = partialToolCall.index() != null ? partialToolCall.index() : toolCalls.size();
+                    toolCall(index).append(partialToolCall);
+                }
+            }
+
+            FunctionCall partialFunctionCall = delta.functionCall();
+            if (partialFunctionCall != null) {
+                if (partialFunctionCall.name() != null) {
+                    functionName = partialFunctionCall.name();
+                }
+                if (partialFunctionCall.arguments() != null) {
+                    if (functionArguments == null) {
+                        functionArguments = new StringBuilder(argumentsCapacity);
+                    }
+                    functionArguments.append(partialFunctionCall.arguments());
+                }
+            }
+        }
+
+        void merge(ChoiceAccumulator later) {
+            if (later.content != null) {
+                if (content == null) {
+                    content = new StringBuilder(Math.max(contentCapacity, later.content.length()));
+                }
+                content.append(later.content);
+            }
+            if (later.finishReason != null) {
+                finishReason = later.finishReason;
+            }
+            for (int i = 0; i < later.toolCalls.size(); i++) {
+                if (later.toolCalls.get(i) != null) {
+                    toolCall(i).merge(later.toolCalls.get(i));
+                }
+            }
+            if (later.functionName != null) {
+                functionName = later.functionName;
+            }
+            if (later.functionArguments != null) {
+                if (functionArguments == null) {
+                    functionArguments = new StringBuilder(argumentsCapacity);
+                }
+                functionArguments.append(later.functionArguments);
+            }
+        }
+
+        @SuppressWarnings("deprecation") // the legacy function call is still accumulated
+        ChatCompletionChoice build(int index) {
+            AssistantMessage.Builder message = AssistantMessage.builder();
+            if (content != null) {
+                message.content(content.toString());
+            }
+            if (!toolCalls.isEmpty()) {
+                List<ToolCall> builtToolCalls = new ArrayList<>(toolCalls.size());
+                for (int i = 0; i < toolCalls.size(); i++) {
+                    ToolCallAccumulator toolCall = toolCalls.get(i);
+                    if (toolCall != null) {
+                        builtToolCalls.add(toolCall.build(i));
+                    }
+                }
+                message.toolCalls(builtToolCalls);
+            }
+            if (functionName != null || functionArguments != null) {
+                message.functionCall(FunctionCall.builder()
+                        .name(functionName)
+                        .arguments(functionArguments != null ? functionArguments.toString() : null)
+                        .build());
+            }
+
+            return ChatCompletionChoice.builder()
+                    .index(index)
+                    .message(message.build())
+                    .finishReason(finishReason)
+                    .build();
+        }
+
+        private ToolCallAccumulator toolCall(int index) {
+            while (toolCalls.size() <= index) {
+                toolCalls.add(null);
+            }
+            ToolCallAccumulator toolCall = toolCalls.get(index);
+            if (toolCall == null) {
+                toolCall = new ToolCallAccumulator();
+                toolCalls.set(index, toolCall);
+            }
+            return toolCall;
+        }
+    }
+
+    private class ToolCallAccumulator {
+
+        private String id;
+        private ToolType type;
+        private String name;
+        private final StringBuilder arguments = new StringBuilder(argumentsCapacity);
+
+        void append(ToolCall partialToolCall) {
+            if (partialToolCall.id() != null) {
+                id = partialToolCall.id();
+            }
+            if (partialToolCall.type() != null) {
+                type = partialToolCall.type();
+            }
+            FunctionCall function = partialToolCall.function();
+            if (function != null) {
+                if (function.name() != null) {
+                    name = function.name();
+                }
+                if (function.arguments() != null) {
+                    arguments.append(function.arguments());
+                }
+            }
+        }
+
+        void merge(ToolCallAccumulator later) {
+            if (later.id != null) {
+                id = later.id;
+            }
+            if (later.type != null) {
+                type = later.type;
+            }
+            if (later.name != null) {
+                name = later.name;
+            }
+            arguments.append(later.arguments);
+        }
+
+        ToolCall build(int index) {
+            return ToolCall.builder()
+                    .id(id)
+                    .index(index)
+                    .type(type)
+                    .function(FunctionCall.builder()
+                            .name(name)
+                            .arguments(arguments.toString())
+                            .build())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package dev.ai4j.openai4j.chat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses a single JSON document that arrives in fragments, using Jackson's non-blocking parser.
+ * Values are built as soon as their last token has been read: objects become {@link LinkedHashMap}s,
+ * arrays become {@link ArrayList}s, and scalars are mapped the same way as by <code>ObjectMapper.readValue(json, Object.class)</code>.
+ * <p>
+ * The listener is notified of every completed value up to the configured depth, together with its path
+ * (field names and array indices, starting from the root), and can replace it before it is added to its parent.
+ */
+class IncrementalJsonParser {
+
+    interface Listener {
+
+        /**
+         * @param path  path of the value: field names ({@link String}) and array indices ({@link Integer}),
+         *              only valid until this method returns
+         * @param value completed value
+         * @return the value to keep in the document, usually the given one
+         */
+        Object onValue(List<Object> path, Object value);
+    }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final int maxNotificationDepth;
+    private final Listener listener;
+
+    private final Deque<Object> containers = new ArrayDeque<>();
+    private final List<Object> path = new ArrayList<>();
+    private String fieldName;
+    private Object root;
+    private boolean complete;
+
+    /**
+     * @param maxNotificationDepth values nested deeper than this are not reported to the listener (the root has depth 0)
+     */
+    IncrementalJsonParser(int maxNotificationDepth, Listener listener) {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.maxNotificationDepth = maxNotificationDepth;
+        this.listener = listener;
+    }
+
+    void append(String fragment) {
+        if (fragment == null || fragment.isEmpty() || complete) {
+            return;
+        }
+        byte[] bytes = fragment.getBytes(UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            readAvailableTokens();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Signals that no more fragments will arrive, so that a trailing root scalar (e.g. a number) can be completed.
+     */
+    void endOfInput() {
+        if (complete) {
+            return;
+        }
+        feeder.endOfInput();
+        try {
+            readAvailableTokens();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return the whole document once it is complete, otherwise null
+     */
+    Object root() {
+        return root;
+    }
+
+    private void readAvailableTokens() throws IOException {
+        JsonToken token;
+        while (!complete && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT:
+                    enter(new LinkedHashMap<String, Object>());
+                    break;
+                case START_ARRAY:
+                    enter(new ArrayList<>());
+                    break;
+                case END_OBJECT:
+                case END_ARRAY:
+                    Object container = containers.pop();
+                    if (containers.isEmpty()) {
+                        completeRoot(container);
+                    } else {
+                        completeValue(path.remove(path.size() - 1), container);
+                    }
+                    break;
+                case FIELD_NAME:
+                    fieldName = parser.currentName();
+                    break;
+                case VALUE_STRING:
+                    completeScalar(parser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    completeScalar(parser.getNumberValue());
+                    break;
+                case VALUE_TRUE:
+                    completeScalar(Boolean.TRUE);
+                    break;
+                case VALUE_FALSE:
+                    completeScalar(Boolean.FALSE);
+                    break;
+                case VALUE_NULL:
+                    completeScalar(null);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void enter(Object container) {
+        if (!containers.isEmpty()) {
+            path.add(nextKey());
+        }
+        containers.push(container);
+    }
+
+    private void completeScalar(Object value) {
+        if (containers.isEmpty()) {
+            completeRoot(value);
+        } else {
+            completeValue(nextKey(), value);
+        }
+    }
+
+    private void completeRoot(Object value) {
+        root = listener.onValue(path, value);
+        complete = true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void completeValue(Object key, Object value) {
+        if (containers.size() <= maxNotificationDepth) {
+            path.add(key);
+            try {
+                value = listener.onValue(path, value);
+            } finally {
+                path.remove(path.size() - 1);
+            }
+        }
+
+        Object parent = containers.peek();
+        if (parent instanceof Map) {
+            ((Map<String, Object>) parent).put((String) key, value);
+        } else {
+            ((List<Object>) parent).add(value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object nextKey() {
+        Object parent = containers.peek();
+        if (parent instanceof Map) {
+            return fieldName;
+        }
+        return ((List<Object>) parent).size();
+    }
+}
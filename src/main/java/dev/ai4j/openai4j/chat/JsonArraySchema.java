@@ -26,6 +26,14 @@ public class JsonArraySchema extends JsonSchemaElement {
         this.items = builder.items;
     }
 
+    public String description() {
+        return description;
+    }
+
+    public JsonSchemaElement items() {
+        return items;
+    }
+
     @Override
     public boolean equals(Object another) {
         if (this == another) return true;
@@ -35,6 +35,26 @@ public class JsonObjectSchema extends JsonSchemaElement {
         this.definitions = builder.definitions == null ? null : new LinkedHashMap<>(builder.definitions);
     }
 
+    public String description() {
+        return description;
+    }
+
+    public Map<String, JsonSchemaElement> properties() {
+        return properties;
+    }
+
+    public List<String> required() {
+        return required;
+    }
+
+    public Boolean additionalProperties() {
+        return additionalProperties;
+    }
+
+    public Map<String, JsonSchemaElement> definitions() {
+        return definitions;
+    }
+
     @Override
     public boolean equals(Object another) {
         if (this == another) return true;
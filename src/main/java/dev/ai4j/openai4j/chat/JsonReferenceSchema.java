@@ -23,6 +23,10 @@ public class JsonReferenceSchema extends JsonSchemaElement {
         this.reference = builder.reference;
     }
 
+    public String reference() {
+        return reference;
+    }
+
     @Override
     public boolean equals(Object another) {
         if (this == another) return true;
@@ -28,6 +28,18 @@ public class JsonSchema {
         this.schema = builder.schema;
     }
 
+    public String name() {
+        return name;
+    }
+
+    public Boolean strict() {
+        return strict;
+    }
+
+    public JsonObjectSchema schema() {
+        return schema;
+    }
+
     @Override
     public boolean equals(Object another) {
         if (this == another) return true;
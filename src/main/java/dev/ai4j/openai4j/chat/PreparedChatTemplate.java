@@ -0,0 +1,183 @@
+package dev.ai4j.openai4j.chat;
+
+import dev.ai4j.openai4j.Json;
+import dev.ai4j.openai4j.spi.JsonCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
+/**
+ * The static part of chat completion requests (model, tools, response format, system messages, ...),
+ * serialized to JSON once.
+ * <p>
+ * Requests created with {@link #request(List)} are sent by the client as the pre-serialized bytes of the template,
+ * followed by the JSON of their own messages only. This saves most of the serialization work when the tools or the
+ * schemas are large and the same for every call:
+ * <pre>
+ * PreparedChatTemplate template = PreparedChatTemplate.from(ChatCompletionRequest.builder()
+ *         .model(GPT_4_O_MINI)
+ *         .addSystemMessage("You are a helpful assistant")
+ *         .tools(tools)
+ *         .build());
+ *
+ * client.chatCompletion(template.request(UserMessage.from(question))).execute();
+ * </pre>
+ * A request copied with <code>ChatCompletionRequest.builder().from(request)</code> keeps the template, but it is only
+ * used if the copy differs from the template by nothing else than the added messages and the <code>stream</code>
+ * and <code>stream_options</code> parameters; otherwise the request is serialized as usual.
+ * <p>
+ * The template and the messages are serialized with the same {@link JsonCodec} as the other requests of the client.
+ */
+public final class PreparedChatTemplate {
+
+    private static final byte[] STREAM_OPTIONS_START = "\"stream_options\":".getBytes(UTF_8);
+    private static final byte[] MESSAGES_START = "\"messages\":[".getBytes(UTF_8);
+    private static final byte[] MESSAGES_END = "]}".getBytes(UTF_8);
+
+    private final JsonCodec codec;
+    private final ChatCompletionRequest template;
+    private final byte[] fields; // the static fields, from the opening brace up to and including the trailing comma
+    private final byte[] messages; // the static messages, without the brackets
+
+    private PreparedChatTemplate(ChatCompletionRequest template, JsonCodec codec) {
+        this.codec = codec;
+        this.template = template.messages() != null ? template
+                : ChatCompletionRequest.builder().from(template).messages(new ArrayList<>()).build();
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> node = codec.fromJson(codec.toJson(this.template), Map.class);
+            node.keySet().removeAll(asList("messages", "stream", "stream_options"));
+            String fields = codec.toJson(node);
+            this.fields = (fields.substring(0, fields.length() - 1) + (node.size() > 0 ? "," : "")).getBytes(UTF_8);
+
+            ByteArrayOutputStream messages = new ByteArrayOutputStream();
+            List<Message> templateMessages = this.template.messages();
+            for (int i = 0; i < templateMessages.size(); i++) {
+                if (i > 0) {
+                    messages.write(',');
+                }
+                codec.toJson(templateMessages.get(i), messages);
+            }
+            this.messages = messages.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param template the static part of the requests. Its messages come first in every request.
+     */
+    public static PreparedChatTemplate from(ChatCompletionRequest template) {
+        return new PreparedChatTemplate(template, Json.codec());
+    }
+
+    /**
+     * @return a request with the messages of the template followed by the given messages
+     */
+    public ChatCompletionRequest request(List<Message> messages) {
+        List<Message> allMessages = new ArrayList<>(template.messages());
+        allMessages.addAll(messages);
+        return ChatCompletionRequest.builder()
+                .from(template)
+                .messages(allMessages)
+                .preparedTemplate(this)
+                .build();
+    }
+
+    public ChatCompletionRequest request(Message... messages) {
+        return request(asList(messages));
+    }
+
+    /**
+     * @return true if the request was created from this template and still matches it,
+     * i.e. it can be written with {@link #writeTo(ChatCompletionRequest, OutputStream)}
+     */
+    public boolean canWrite(ChatCompletionRequest request) {
+        if (request.preparedTemplate() != this) {
+            return false;
+        }
+        List<Message> templateMessages = template.messages();
+        List<Message> messages = request.messages();
+        if (messages == null || messages.size() < templateMessages.size()
+                || !messages.subList(0, templateMessages.size()).equals(templateMessages)) {
+            return false;
+        }
+        ChatCompletionRequest withoutVaryingParts = ChatCompletionRequest.builder()
+                .from(request)
+                .messages(template.messages())
+                .stream(template.stream())
+                .streamOptions(template.streamOptions())
+                .build();
+        return withoutVaryingParts.equals(template);
+    }
+
+    /**
+     * Writes the request as JSON: the pre-serialized static fields and messages, then the other messages.
+     * The stream is left open.
+     *
+     * @throws IllegalArgumentException if the request cannot be written with this template, see {@link #canWrite(ChatCompletionRequest)}
+     */
+    public void writeTo(ChatCompletionRequest request, OutputStream outputStream) throws IOException {
+        if (!tryWriteTo(request, outputStream)) {
+            throw new IllegalArgumentException("The request was not created from this template, or was modified since");
+        }
+    }
+
+    /**
+     * Writes the request as {@link #writeTo(ChatCompletionRequest, OutputStream)} does if it can be written
+     * with this template, checking it only once.
+     *
+     * @return false if the request cannot be written with this template, in which case nothing is written
+     */
+    public boolean tryWriteTo(ChatCompletionRequest request, OutputStream outputStream) throws IOException {
+        if (!canWrite(request)) {
+            return false;
+        }
+        write(request, outputStream);
+        return true;
+    }
+
+    /**
+     * @return the request as JSON, see {@link #writeTo(ChatCompletionRequest, OutputStream)}
+     */
+    public byte[] toJson(ChatCompletionRequest request) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(fields.length + messages.length + 1024);
+        try {
+            writeTo(request, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private void write(ChatCompletionRequest request, OutputStream outputStream) throws IOException {
+        outputStream.write(fields);
+        if (request.stream() != null) {
+            outputStream.write(("\"stream\":" + request.stream() + ",").getBytes(UTF_8));
+        }
+        if (request.streamOptions() != null) {
+            outputStream.write(STREAM_OPTIONS_START);
+            codec.toJson(request.streamOptions(), outputStream);
+            outputStream.write(',');
+        }
+
+        outputStream.write(MESSAGES_START);
+        outputStream.write(messages);
+        List<Message> messages = request.messages();
+        for (int i = template.messages().size(); i < messages.size(); i++) {
+            if (i > 0) {
+                outputStream.write(',');
+            }
+            codec.toJson(messages.get(i), outputStream);
+        }
+        outputStream.write(MESSAGES_END);
+    }
+}
@@ -0,0 +1,62 @@
+package dev.ai4j.openai4j.chat;
+
+import java.util.Map;
+
+/**
+ * Parses the arguments of a tool (or function) call while they are being streamed.
+ * Fragments from {@link FunctionCall#arguments()} are fed to {@link #append(String)} as they arrive,
+ * and each top-level argument is reported as soon as its value is complete, before the rest of the arguments have been generated.
+ * <p>
+ * Values have the same types as the ones returned by {@link FunctionCallUtil#argumentsAsMap(String)}.
+ * <pre>
+ * StreamingArgumentsParser parser = new StreamingArgumentsParser((name, value) -&gt; ...);
+ * client.chatCompletion(request)
+ *         .onPartialResponse(partialResponse -&gt; {
+ *             // pass partialResponse.choices().get(0).delta().toolCalls().get(0).function().arguments() to parser.append(...)
+ *         })
+ *         ...
+ * </pre>
+ * One parser handles the arguments of one call. This class is not thread-safe.
+ */
+public class StreamingArgumentsParser {
+
+    public interface ArgumentHandler {
+
+        void onArgument(String name, Object value);
+    }
+
+    private final IncrementalJsonParser parser;
+
+    public StreamingArgumentsParser(ArgumentHandler argumentHandler) {
+        this.parser = new IncrementalJsonParser(1, (path, value) -> {
+            if (path.size() == 1) {
+                argumentHandler.onArgument((String) path.get(0), value);
+            }
+            return value;
+        });
+    }
+
+    /**
+     * @param fragment next fragment of the arguments JSON
+     * @throws RuntimeException if the arguments are not valid JSON
+     */
+    public void append(String fragment) {
+        parser.append(fragment);
+    }
+
+    /**
+     * @return true once the closing brace of the arguments object has been parsed
+     */
+    public boolean isComplete() {
+        return parser.isComplete();
+    }
+
+    /**
+     * @return all arguments once {@link #isComplete()}, otherwise null
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> arguments() {
+        Object root = parser.root();
+        return root instanceof Map ? (Map<String, Object>) root : null;
+    }
+}
@@ -0,0 +1,162 @@
+package dev.ai4j.openai4j.chat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Binds a structured output (see {@link ResponseFormatType#JSON_SCHEMA}) while it is being streamed.
+ * <p>
+ * The streamed content of the first choice is parsed incrementally, and the {@link Listener} is notified
+ * as soon as a top-level field, or an element of a top-level array, is complete.
+ * Values are typed according to the schema: <code>integer</code> values are {@link Long}s, <code>number</code> values
+ * are {@link Double}s, <code>boolean</code> values are {@link Boolean}s, <code>string</code> and <code>enum</code> values
+ * are {@link String}s, objects are {@link Map}s and arrays are {@link List}s. <code>$ref</code>s to <code>$defs</code>
+ * of the root schema are resolved; values without a known schema are left as parsed.
+ * <p>
+ * Once {@link #isComplete()}, {@link #result()} returns the whole document, so it does not need to be parsed again.
+ * <pre>
+ * StreamingStructuredOutputBinder binder = new StreamingStructuredOutputBinder(schema, new Listener() {
+ *     public void onArrayElement(String field, int index, Object element) { ... }
+ * });
+ * client.chatCompletion(request)
+ *         .onPartialResponse(binder)
+ *         ...
+ * </pre>
+ * This class is thread-safe.
+ */
+public class StreamingStructuredOutputBinder implements Consumer<ChatCompletionResponse> {
+
+    public interface Listener {
+
+        /**
+         * Called when the value of a top-level field is complete.
+         */
+        default void onField(String name, Object value) {
+        }
+
+        /**
+         * Called when an element of a top-level array field is complete, before the array itself is complete.
+         */
+        default void onArrayElement(String field, int index, Object element) {
+        }
+    }
+
+    private static final String DEFINITIONS_PREFIX = "#/$defs/";
+
+    private final JsonObjectSchema schema;
+    private final IncrementalJsonParser parser;
+
+    public StreamingStructuredOutputBinder(JsonSchema jsonSchema, Listener listener) {
+        this(jsonSchema.schema(), listener);
+    }
+
+    public StreamingStructuredOutputBinder(JsonObjectSchema schema, Listener listener) {
+        if (schema == null) {
+            throw new IllegalArgumentException("schema cannot be null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null");
+        }
+        this.schema = schema;
+        this.parser = new IncrementalJsonParser(2, (path, value) -> {
+            if (path.size() == 1) {
+                String field = (String) path.get(0);
+                JsonSchemaElement fieldSchema = resolve(property(schema, field));
+                if (!(fieldSchema instanceof JsonArraySchema)) { // elements of arrays are already typed
+                    value = bind(value, fieldSchema);
+                }
+                listener.onField(field, value);
+                return value;
+            } else if (path.size() == 2 && path.get(1) instanceof Integer) {
+                String field = (String) path.get(0);
+                int index = (Integer) path.get(1);
+                JsonSchemaElement fieldSchema = resolve(property(schema, field));
+                JsonSchemaElement itemSchema = fieldSchema instanceof JsonArraySchema ? ((JsonArraySchema) fieldSchema).items() : null;
+                Object element = bind(value, itemSchema);
+                listener.onArrayElement(field, index, element);
+                return element;
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public synchronized void accept(ChatCompletionResponse partialResponse) {
+        if (partialResponse == null || partialResponse.choices() == null) {
+            return;
+        }
+        for (ChatCompletionChoice choice : partialResponse.choices()) {
+            if ((choice.index() == null || choice.index() == 0) && choice.delta() != null) {
+                append(choice.delta().content());
+            }
+        }
+    }
+
+    /**
+     * @param fragment next fragment of the JSON document
+     * @throws RuntimeException if the content is not valid JSON
+     */
+    public synchronized void append(String fragment) {
+        parser.append(fragment);
+    }
+
+    public synchronized boolean isComplete() {
+        return parser.isComplete();
+    }
+
+    /**
+     * @return the whole document once {@link #isComplete()}, otherwise null
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Map<String, Object> result() {
+        Object root = parser.root();
+        return root instanceof Map ? (Map<String, Object>) root : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object bind(Object value, JsonSchemaElement elementSchema) {
+        JsonSchemaElement resolved = resolve(elementSchema);
+        if (value == null || resolved == null) {
+            return value;
+        }
+        if (resolved instanceof JsonIntegerSchema && value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (resolved instanceof JsonNumberSchema && value instanceof Number) {
+            return ((Number) value).doubleValue();
+        } else if (resolved instanceof JsonObjectSchema && value instanceof Map) {
+            JsonObjectSchema objectSchema = (JsonObjectSchema) resolved;
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+                entry.setValue(bind(entry.getValue(), property(objectSchema, entry.getKey())));
+            }
+        } else if (resolved instanceof JsonArraySchema && value instanceof List) {
+            List<Object> list = (List<Object>) value;
+            JsonSchemaElement itemSchema = ((JsonArraySchema) resolved).items();
+            for (int i = 0; i < list.size(); i++) {
+                list.set(i, bind(list.get(i), itemSchema));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the schema of the property, or null if the object schema does not declare it (the value is left untyped)
+     */
+    private static JsonSchemaElement property(JsonObjectSchema objectSchema, String name) {
+        Map<String, JsonSchemaElement> properties = objectSchema.properties();
+        return properties != null ? properties.get(name) : null;
+    }
+
+    private JsonSchemaElement resolve(JsonSchemaElement elementSchema) {
+        if (!(elementSchema instanceof JsonReferenceSchema)) {
+            return elementSchema;
+        }
+        String reference = ((JsonReferenceSchema) elementSchema).reference();
+        Map<String, JsonSchemaElement> definitions = schema.definitions() != null ? schema.definitions() : Collections.emptyMap();
+        if (reference == null || !reference.startsWith(DEFINITIONS_PREFIX)) {
+            return null;
+        }
+        return definitions.get(reference.substring(DEFINITIONS_PREFIX.length()));
+    }
+}
@@ -0,0 +1,202 @@
+package dev.ai4j.openai4j.chat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Starts executing tool calls while the response is still being streamed.
+ * <p>
+ * A tool call is considered finished as soon as the closing brace of its arguments has been received,
+ * or when the next tool call starts. It is then submitted to the {@link ToolExecutor} on the given {@link Executor},
+ * so that tool latency overlaps with the generation of the remaining tool calls.
+ * A tool call whose arguments are not a complete JSON object when the next tool call starts or when {@link #flush()}
+ * is called (e.g. because the stream was cut) is not executed: its result fails with an {@link IllegalStateException}.
+ * <pre>
+ * StreamingToolCallDispatcher dispatcher = new StreamingToolCallDispatcher(toolCall -&gt; ..., executor);
+ * client.chatCompletion(request)
+ *         .onPartialResponse(dispatcher)
+ *         .onComplete(() -&gt; dispatcher.toolMessages().thenAccept(toolMessages -&gt; ...))
+ *         .onError(error -&gt; ...)
+ *         .execute();
+ * </pre>
+ * Only the tool calls of the first choice are dispatched. This class is thread-safe.
+ */
+public class StreamingToolCallDispatcher implements Consumer<ChatCompletionResponse> {
+
+    public interface ToolExecutor {
+
+        /**
+         * @param toolCall complete tool call, including all of its arguments
+         * @return the result of the tool, sent back to the model as {@link ToolMessage#content()}
+         */
+        String execute(ToolCall toolCall) throws Exception;
+    }
+
+    private final ToolExecutor toolExecutor;
+    private final Executor executor;
+
+    private final List<CompletableFuture<ToolMessage>> results = new ArrayList<>();
+    private PendingToolCall current;
+
+    public StreamingToolCallDispatcher(ToolExecutor toolExecutor, Executor executor) {
+        if (toolExecutor == null) {
+            throw new IllegalArgumentException("toolExecutor cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.toolExecutor = toolExecutor;
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void accept(ChatCompletionResponse partialResponse) {
+        if (partialResponse == null || partialResponse.choices() == null) {
+            return;
+        }
+        for (ChatCompletionChoice choice : partialResponse.choices()) {
+            if (choice.index() != null && choice.index() != 0) {
+                continue;
+            }
+            Delta delta = choice.delta();
+            if (delta == null || delta.toolCalls() == null) {
+                continue;
+            }
+            for (ToolCall partialToolCall : delta.toolCalls()) {
+                append(partialToolCall);
+            }
+        }
+    }
+
+    /**
+     * Submits the tool call that is still being accumulated, if any. Should be called once the stream is complete.
+     * If its arguments are not complete, it is reported as failed instead.
+     */
+    public synchronized void flush() {
+        if (current != null) {
+            dispatch(current);
+            current = null;
+        }
+    }
+
+    /**
+     * Flushes and returns the results of all dispatched tool calls, in the order in which the model requested them.
+     *
+     * @return a future that is completed once all tools have been executed,
+     * or completed exceptionally if any of them failed or had incomplete arguments
+     */
+    public synchronized CompletableFuture<List<ToolMessage>> toolMessages() {
+        flush();
+        List<CompletableFuture<ToolMessage>> futures = new ArrayList<>(results);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<ToolMessage> toolMessages = new ArrayList<>(futures.size());
+                    for (CompletableFuture<ToolMessage> future : futures) {
+                        toolMessages.add(future.join());
+                    }
+                    return toolMessages;
+                });
+    }
+
+    private void append(ToolCall partialToolCall) {
+        Integer index = partialToolCall.index();
+        if (current != null && index != null && !index.equals(current.index)) {
+            dispatch(current);
+            current = null;
+        }
+        if (current == null) {
+            current = new PendingToolCall(index);
+        }
+        if (current.dispatched) {
+            return; // trailing fragments after the closing brace
+        }
+        current.append(partialToolCall);
+        if (current.isComplete()) {
+            dispatch(current);
+        }
+    }
+
+    private void dispatch(PendingToolCall pendingToolCall) {
+        if (pendingToolCall.dispatched) {
+            return;
+        }
+        pendingToolCall.dispatched = true;
+        ToolCall toolCall = pendingToolCall.build();
+        if (!pendingToolCall.isComplete()) {
+            CompletableFuture<ToolMessage> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("The arguments of tool call " + toolCall.id()
+                    + " are not a complete JSON object: " + toolCall.function().arguments()));
+            results.add(failed);
+            return;
+        }
+        results.add(CompletableFuture.supplyAsync(() -> {
+            try {
+                return ToolMessage.from(toolCall.id(), toolExecutor.execute(toolCall));
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor));
+    }
+
+    private static class PendingToolCall {
+
+        private final Integer index;
+        private String id;
+        private ToolType type;
+        private String name;
+        private final StringBuilder arguments = new StringBuilder();
+        private StreamingArgumentsParser argumentsParser = new StreamingArgumentsParser((name, value) -> {
+        });
+        private boolean dispatched;
+
+        PendingToolCall(Integer index) {
+            this.index = index;
+        }
+
+        void append(ToolCall partialToolCall) {
+            if (partialToolCall.id() != null) {
+                id = partialToolCall.id();
+            }
+            if (partialToolCall.type() != null) {
+                type = partialToolCall.type();
+            }
+            FunctionCall function = partialToolCall.function();
+            if (function == null) {
+                return;
+            }
+            if (function.name() != null) {
+                name = function.name();
+            }
+            if (function.arguments() != null) {
+                arguments.append(function.arguments());
+                if (argumentsParser != null) {
+                    try {
+                        argumentsParser.append(function.arguments());
+                    } catch (RuntimeException e) {
+                        argumentsParser = null; // invalid JSON, the call fails when the next one starts
+                    }
+                }
+            }
+        }
+
+        boolean isComplete() {
+            return argumentsParser != null && argumentsParser.isComplete();
+        }
+
+        ToolCall build() {
+            return ToolCall.builder()
+                    .id(id)
+                    .index(index)
+                    .type(type)
+                    .function(FunctionCall.builder()
+                            .name(name)
+                            .arguments(arguments.toString())
+                            .build())
+                    .build();
+        }
+    }
+}
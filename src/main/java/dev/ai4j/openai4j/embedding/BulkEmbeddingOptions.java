@@ -0,0 +1,207 @@
+package dev.ai4j.openai4j.embedding;
+
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+
+import static dev.ai4j.openai4j.embedding.EmbeddingModel.TEXT_EMBEDDING_ADA_002;
+
+/**
+ * Options of <code>OpenAiClient.embedAll(...)</code>.
+ */
+public final class BulkEmbeddingOptions {
+
+    /**
+     * Conservative estimate (about 3 characters per token) so that requests stay under the token limit.
+     */
+    public static final ToIntFunction<String> DEFAULT_TOKEN_ESTIMATOR = text -> text.length() / 3 + 1;
+
+    private final String model;
+    private final Integer dimensions;
+    private final EncodingFormat encodingFormat;
+    private final String user;
+    private final int maxInputsPerRequest;
+    private final int maxTokensPerRequest;
+    private final int maxInFlightRequests;
+    private final ToIntFunction<String> tokenEstimator;
+    private final int maxRetries;
+    private final Duration initialRetryDelay;
+
+    private BulkEmbeddingOptions(Builder builder) {
+        this.model = builder.model;
+        this.dimensions = builder.dimensions;
+        this.encodingFormat = builder.encodingFormat;
+        this.user = builder.user;
+        this.maxInputsPerRequest = builder.maxInputsPerRequest;
+        this.maxTokensPerRequest = builder.maxTokensPerRequest;
+        this.maxInFlightRequests = builder.maxInFlightRequests;
+        this.tokenEstimator = builder.tokenEstimator;
+        this.maxRetries = builder.maxRetries;
+        this.initialRetryDelay = builder.initialRetryDelay;
+    }
+
+    public String model() {
+        return model;
+    }
+
+    public Integer dimensions() {
+        return dimensions;
+    }
+
+    public EncodingFormat encodingFormat() {
+        return encodingFormat;
+    }
+
+    public String user() {
+        return user;
+    }
+
+    public int maxInputsPerRequest() {
+        return maxInputsPerRequest;
+    }
+
+    public int maxTokensPerRequest() {
+        return maxTokensPerRequest;
+    }
+
+    public int maxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    public ToIntFunction<String> tokenEstimator() {
+        return tokenEstimator;
+    }
+
+    public int maxRetries() {
+        return maxRetries;
+    }
+
+    public Duration initialRetryDelay() {
+        return initialRetryDelay;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private String model = TEXT_EMBEDDING_ADA_002.toString();
+        private Integer dimensions;
+        private EncodingFormat encodingFormat = EncodingFormat.BASE64;
+        private String user;
+        private int maxInputsPerRequest = 2048;
+        private int maxTokensPerRequest = 300_000;
+        private int maxInFlightRequests = 4;
+        private ToIntFunction<String> tokenEstimator = DEFAULT_TOKEN_ESTIMATOR;
+        private int maxRetries = 3;
+        private Duration initialRetryDelay = Duration.ofSeconds(1);
+
+        private Builder() {
+        }
+
+        public Builder model(EmbeddingModel model) {
+            return model(model.toString());
+        }
+
+        public Builder model(String model) {
+            this.model = model;
+            return this;
+        }
+
+        public Builder dimensions(Integer dimensions) {
+            this.dimensions = dimensions;
+            return this;
+        }
+
+        /**
+         * @param encodingFormat Default: BASE64, vectors are handed over as <code>float[]</code> either way
+         * @return builder
+         */
+        public Builder encodingFormat(EncodingFormat encodingFormat) {
+            this.encodingFormat = encodingFormat;
+            return this;
+        }
+
+        public Builder user(String user) {
+            this.user = user;
+            return this;
+        }
+
+        /**
+         * @param maxInputsPerRequest Maximum number of inputs in one request. Default: 2048
+         * @return builder
+         */
+        public Builder maxInputsPerRequest(int maxInputsPerRequest) {
+            if (maxInputsPerRequest <= 0) {
+                throw new IllegalArgumentException("maxInputsPerRequest must be positive");
+            }
+            this.maxInputsPerRequest = maxInputsPerRequest;
+            return this;
+        }
+
+        /**
+         * @param maxTokensPerRequest Maximum estimated number of tokens in one request. Default: 300 000
+         * @return builder
+         */
+        public Builder maxTokensPerRequest(int maxTokensPerRequest) {
+            if (maxTokensPerRequest <= 0) {
+                throw new IllegalArgumentException("maxTokensPerRequest must be positive");
+            }
+            this.maxTokensPerRequest = maxTokensPerRequest;
+            return this;
+        }
+
+        /**
+         * @param maxInFlightRequests Maximum number of requests sent concurrently. Default: 4
+         * @return builder
+         */
+        public Builder maxInFlightRequests(int maxInFlightRequests) {
+            if (maxInFlightRequests <= 0) {
+                throw new IllegalArgumentException("maxInFlightRequests must be positive");
+            }
+            this.maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+
+        /**
+         * @param tokenEstimator Estimates the number of tokens of an input. Default: {@link #DEFAULT_TOKEN_ESTIMATOR}
+         * @return builder
+         */
+        public Builder tokenEstimator(ToIntFunction<String> tokenEstimator) {
+            if (tokenEstimator == null) {
+                throw new IllegalArgumentException("tokenEstimator cannot be null");
+            }
+            this.tokenEstimator = tokenEstimator;
+            return this;
+        }
+
+        /**
+         * @param maxRetries How many times a request is retried after a rate limit (429) or server (5xx) error,
+         *                   or an I/O failure such as a connection dropped while reading the response. Default: 3
+         * @return builder
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries cannot be negative");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * @param initialRetryDelay Delay before the first retry, doubled for each further retry. Default: 1 second
+         * @return builder
+         */
+        public Builder initialRetryDelay(Duration initialRetryDelay) {
+            if (initialRetryDelay == null || initialRetryDelay.isNegative()) {
+                throw new IllegalArgumentException("initialRetryDelay cannot be null or negative");
+            }
+            this.initialRetryDelay = initialRetryDelay;
+            return this;
+        }
+
+        public BulkEmbeddingOptions build() {
+            return new BulkEmbeddingOptions(this);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package dev.ai4j.openai4j.embedding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * {@link EmbeddingCache} backed by an append-only file, so that vectors survive restarts.
+ * <p>
+ * The file holds a header followed by one record per vector: the 16 bytes of the {@link EmbeddingCacheKey},
+ * the number of dimensions, and the little-endian floats. The index of the records is rebuilt when the file
+ * is opened; a record that was only partially written (e.g. because the process was killed) is discarded.
+ * Vectors are read through memory mappings of the file, so hits do not need a system call. The file is mapped in
+ * chunks of up to 64 MiB that end on record boundaries, so that a record never spans two mappings: a chunk is mapped
+ * once it is full, and only the last chunk, which new records are appended to, is mapped again when it grows.
+ * <p>
+ * The file is never compacted and grows with each new vector. Only one instance may use a file at a time.
+ */
+public class DiskEmbeddingCache implements EmbeddingCache, Closeable {
+
+    private static final int MAGIC = 0x4F41_4945; // "OAIE"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+    private static final int RECORD_HEADER_BYTES = EmbeddingCacheKey.BYTES + 4;
+    private static final int DEFAULT_CHUNK_BYTES = 64 << 20;
+
+    private final FileChannel channel;
+    private final int chunkBytes;
+    private final Map<EmbeddingCacheKey, Long> offsets = new HashMap<>(); // guarded by this
+    private long end; // guarded by this
+    private long[] chunkStarts = new long[]{0}; // guarded by this, offsets of the first record of each chunk
+    private MappedByteBuffer[] chunks = new MappedByteBuffer[1]; // guarded by this, null until first read
+    private int chunkCount = 1; // guarded by this
+
+    /**
+     * Opens the cache file, creating it if it does not exist.
+     *
+     * @param file the cache file
+     */
+    public DiskEmbeddingCache(Path file) {
+        this(file, DEFAULT_CHUNK_BYTES);
+    }
+
+    DiskEmbeddingCache(Path file, int chunkBytes) {
+        this.chunkBytes = chunkBytes;
+        try {
+            this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+            try {
+                load();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        if (size < FILE_HEADER_BYTES) {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            channel.truncate(0);
+            writeFully(header, 0);
+            end = FILE_HEADER_BYTES;
+            return;
+        }
+
+        ByteBuffer header = readFully(0, FILE_HEADER_BYTES);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IllegalArgumentException("Not an embedding cache file, or written by an incompatible version");
+        }
+
+        long position = FILE_HEADER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= size) {
+            ByteBuffer recordHeader = readFully(position, RECORD_HEADER_BYTES);
+            EmbeddingCacheKey key = new EmbeddingCacheKey(recordHeader.getLong(), recordHeader.getLong());
+            int dimensions = recordHeader.order(ByteOrder.LITTLE_ENDIAN).getInt();
+            long recordEnd = position + RECORD_HEADER_BYTES + 4L * dimensions;
+            if (dimensions < 0 || recordEnd > size) {
+                break;
+            }
+            offsets.put(key, position);
+            appended(position, recordEnd);
+            position = recordEnd;
+        }
+        if (position < size) {
+            channel.truncate(position);
+        }
+        end = position;
+    }
+
+    @Override
+    public synchronized float[] get(EmbeddingCacheKey key) {
+        Long offset = offsets.get(key);
+        if (offset == null) {
+            return null;
+        }
+        try {
+            ByteBuffer record = record(offset);
+            int start = record.position();
+            float[] vector = new float[record.getInt(start + EmbeddingCacheKey.BYTES)];
+            record.position(start + RECORD_HEADER_BYTES);
+            record.asFloatBuffer().get(vector);
+            return vector;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized void put(EmbeddingCacheKey key, float[] vector) {
+        if (offsets.containsKey(key)) {
+            return;
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + 4 * vector.length);
+        record.putLong(key.high()).putLong(key.low());
+        record.order(ByteOrder.LITTLE_ENDIAN).putInt(vector.length);
+        record.asFloatBuffer().put(vector);
+        record.clear();
+        try {
+            writeFully(record, end);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        offsets.put(key, end);
+        appended(end, end + record.capacity());
+        end += record.capacity();
+    }
+
+    public synchronized int size() {
+        return offsets.size();
+    }
+
+    /**
+     * Flushes the written vectors to the storage device and closes the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+        Arrays.fill(chunks, null);
+    }
+
+    /**
+     * Starts a new chunk with the given record if it does not fit in the last one.
+     */
+    private void appended(long recordStart, long recordEnd) {
+        long lastChunkStart = chunkStarts[chunkCount - 1];
+        if (recordStart > lastChunkStart && recordEnd - lastChunkStart > chunkBytes) {
+            if (chunkCount == chunkStarts.length) {
+                chunkStarts = Arrays.copyOf(chunkStarts, chunkCount * 2);
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            }
+            chunkStarts[chunkCount++] = recordStart;
+        }
+    }
+
+    /**
+     * @return a little-endian buffer positioned at the start of the record at the given offset
+     */
+    private ByteBuffer record(long offset) throws IOException {
+        int chunk = Arrays.binarySearch(chunkStarts, 0, chunkCount, offset);
+        if (chunk < 0) {
+            chunk = -chunk - 2; // the chunk starting before the offset
+        }
+        long chunkStart = chunkStarts[chunk];
+        MappedByteBuffer mapped = chunks[chunk];
+        if (mapped == null || offset - chunkStart >= mapped.capacity()) {
+            // records are appended whole, so only the last chunk can have grown since it was mapped
+            long chunkEnd = chunk + 1 < chunkCount ? chunkStarts[chunk + 1] : end;
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkEnd - chunkStart);
+            chunks[chunk] = mapped;
+        }
+        ByteBuffer record = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        record.position((int) (offset - chunkStart));
+        return record;
+    }
+
+    private ByteBuffer readFully(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
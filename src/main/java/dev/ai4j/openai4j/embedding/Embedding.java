@@ -1,5 +1,6 @@
 package dev.ai4j.openai4j.embedding;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -7,30 +8,53 @@ import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
-import dev.ai4j.openai4j.completion.Logprobs;
 
+import java.nio.FloatBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
-import static java.util.Collections.unmodifiableList;
-
 @JsonDeserialize(builder = Embedding.Builder.class)
 @JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public final class Embedding {
 
-    @JsonProperty
-    private final List<Float> embedding;
+    @JsonProperty("embedding")
+    private final float[] vector;
     @JsonProperty
     private final Integer index;
 
     private Embedding(Builder builder) {
-        this.embedding = builder.embedding;
+        this.vector = builder.vector;
         this.index = builder.index;
     }
 
+    /**
+     * @return a read-only view of the vector, elements are boxed only when they are accessed
+     */
     public List<Float> embedding() {
-        return embedding;
+        return vector == null ? null : new FloatArrayList(vector);
+    }
+
+    /**
+     * @return a copy of the vector
+     */
+    public float[] vector() {
+        return vector == null ? null : vector.clone();
+    }
+
+    /**
+     * @return a read-only view of the vector, without copying it
+     */
+    public FloatBuffer vectorBuffer() {
+        return vector == null ? null : FloatBuffer.wrap(vector).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return the number of dimensions of the vector, or 0 if there is no vector
+     */
+    public int dimensions() {
+        return vector == null ? 0 : vector.length;
     }
 
     public Integer index() {
@@ -45,14 +69,14 @@ public final class Embedding {
     }
 
     private boolean equalTo(Embedding another) {
-        return Objects.equals(embedding, another.embedding)
+        return Arrays.equals(vector, another.vector)
                 && Objects.equals(index, another.index);
     }
 
     @Override
     public int hashCode() {
         int h = 5381;
-        h += (h << 5) + Objects.hashCode(embedding);
+        h += (h << 5) + Arrays.hashCode(vector);
         h += (h << 5) + Objects.hashCode(index);
         return h;
     }
@@ -60,7 +84,7 @@ public final class Embedding {
     @Override
     public String toString() {
         return "Embedding{"
-                + "embedding=" + embedding
+                + "embedding=" + Arrays.toString(vector)
                 + ", index=" + index
                 + "}";
     }
@@ -74,19 +98,37 @@ public final class Embedding {
     @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
     public static final class Builder {
 
-        private List<Float> embedding;
+        private float[] vector;
         private Integer index;
 
         private Builder() {
         }
 
+        @JsonIgnore
         public Builder embedding(List<Float> embedding) {
-            if (embedding != null) {
-                this.embedding = unmodifiableList(embedding);
+            if (embedding instanceof FloatArrayList) {
+                this.vector = ((FloatArrayList) embedding).values();
+            } else if (embedding != null) {
+                float[] vector = new float[embedding.size()];
+                for (int i = 0; i < vector.length; i++) {
+                    vector[i] = embedding.get(i);
+                }
+                this.vector = vector;
             }
             return this;
         }
 
+        /**
+         * @param vector the vector, it is not copied and must not be modified afterwards
+         * @return builder
+         */
+        @JsonProperty("embedding")
+        @JsonDeserialize(using = EmbeddingVectorDeserializer.class)
+        public Builder vector(float[] vector) {
+            this.vector = vector;
+            return this;
+        }
+
         public Builder index(Integer index) {
             this.index = index;
             return this;
@@ -0,0 +1,16 @@
+package dev.ai4j.openai4j.embedding;
+
+/**
+ * Cache of embedding vectors, see <code>OpenAiClient.Builder.embeddingCache(...)</code>.
+ * Vectors are shared between the cache and the callers, and must not be modified.
+ * Implementations must be thread-safe.
+ */
+public interface EmbeddingCache {
+
+    /**
+     * @return the cached vector, or null
+     */
+    float[] get(EmbeddingCacheKey key);
+
+    void put(EmbeddingCacheKey key, float[] vector);
+}
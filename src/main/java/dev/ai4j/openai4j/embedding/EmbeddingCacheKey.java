@@ -0,0 +1,67 @@
+package dev.ai4j.openai4j.embedding;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Content address of an embedding: the first 128 bits of the SHA-256 of the model, the dimensions and the text.
+ */
+public final class EmbeddingCacheKey {
+
+    static final int BYTES = 16;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final long high;
+    private final long low;
+
+    EmbeddingCacheKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static EmbeddingCacheKey of(String model, Integer dimensions, String text) {
+        MessageDigest digest = SHA_256.get();
+        digest.update(String.valueOf(model).getBytes(UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(dimensions).getBytes(UTF_8));
+        digest.update((byte) 0);
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(text.getBytes(UTF_8)));
+        return new EmbeddingCacheKey(hash.getLong(), hash.getLong());
+    }
+
+    long high() {
+        return high;
+    }
+
+    long low() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object another) {
+        if (this == another) return true;
+        return another instanceof EmbeddingCacheKey
+                && high == ((EmbeddingCacheKey) another).high
+                && low == ((EmbeddingCacheKey) another).low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (low ^ (low >>> 32)); // already uniformly distributed
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -0,0 +1,190 @@
+package dev.ai4j.openai4j.embedding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.ai4j.openai4j.embedding.EmbeddingFileWriter.ALIGNMENT;
+import static dev.ai4j.openai4j.embedding.EmbeddingFileWriter.FIXED_HEADER_BYTES;
+import static dev.ai4j.openai4j.embedding.EmbeddingFileWriter.MAGIC;
+import static dev.ai4j.openai4j.embedding.EmbeddingFileWriter.VERSION;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Maps a file written by {@link EmbeddingFileWriter} into memory. Opening the file only reads its header:
+ * vectors are read by the operating system when they are first accessed, and are never copied to the heap
+ * unless {@link #vector(long)} is called.
+ * <p>
+ * Thread-safe.
+ */
+public class EmbeddingFileReader implements Closeable {
+
+    private static final long MAPPING_CHUNK_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final String model;
+    private final int dimensions;
+    private final long count;
+    private final long vectorsOffset;
+    private final long idsOffset;
+    private final long vectorsPerChunk;
+    private final List<FloatBuffer> vectorChunks = new ArrayList<>();
+    private final List<LongBuffer> idChunks = new ArrayList<>();
+
+    public EmbeddingFileReader(Path file) {
+        try {
+            this.channel = FileChannel.open(file, READ);
+            try {
+                ByteBuffer header = read(0, FIXED_HEADER_BYTES);
+                if (header.remaining() < FIXED_HEADER_BYTES || header.getInt() != MAGIC) {
+                    throw new IllegalArgumentException("Not an embedding file, or it was not closed after being written");
+                }
+                if (header.getInt() != VERSION) {
+                    throw new IllegalArgumentException("Embedding file written by an incompatible version");
+                }
+                this.dimensions = header.getInt();
+                int modelLength = header.getInt();
+                this.count = header.getLong();
+                this.vectorsOffset = header.getLong();
+                this.idsOffset = header.getLong();
+                ByteBuffer model = read(FIXED_HEADER_BYTES, modelLength);
+                this.model = new String(model.array(), 0, model.remaining(), UTF_8);
+
+                this.vectorsPerChunk = Math.max(1, MAPPING_CHUNK_BYTES / (4L * Math.max(1, dimensions)));
+                for (long first = 0; first < count; first += vectorsPerChunk) {
+                    long vectors = Math.min(vectorsPerChunk, count - first);
+                    vectorChunks.add(map(vectorsOffset + 4 * first * dimensions, 4 * vectors * dimensions).asFloatBuffer());
+                }
+                for (long first = 0; first < count; first += MAPPING_CHUNK_BYTES / 8) {
+                    long ids = Math.min(MAPPING_CHUNK_BYTES / 8, count - first);
+                    idChunks.add(map(idsOffset + 8 * first, 8 * ids).asLongBuffer());
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public String model() {
+        return model;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long id(long position) {
+        checkPosition(position);
+        return idChunks.get((int) (position / (MAPPING_CHUNK_BYTES / 8))).get((int) (position % (MAPPING_CHUNK_BYTES / 8)));
+    }
+
+    /**
+     * @return a read-only view of the vector at the given position, without copying it
+     */
+    public FloatBuffer vectorBuffer(long position) {
+        checkPosition(position);
+        FloatBuffer chunk = vectorChunks.get((int) (position / vectorsPerChunk)).duplicate();
+        int start = (int) (position % vectorsPerChunk) * dimensions;
+        chunk.position(start);
+        chunk.limit(start + dimensions);
+        return chunk.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @return a copy of the vector at the given position
+     */
+    public float[] vector(long position) {
+        float[] vector = new float[dimensions];
+        vectorBuffer(position).get(vector);
+        return vector;
+    }
+
+    /**
+     * Writes the vectors as a <code>float32</code> NumPy array of shape <code>(count, dimensions)</code>,
+     * copying them from file to file.
+     */
+    public void writeNpy(Path file) throws IOException {
+        writeNpy(file, "<f4", "(" + count + ", " + dimensions + ")", vectorsOffset, 4 * count * dimensions);
+    }
+
+    /**
+     * Writes the ids as an <code>int64</code> NumPy array of shape <code>(count,)</code>.
+     */
+    public void writeIdsNpy(Path file) throws IOException {
+        writeNpy(file, "<i8", "(" + count + ",)", idsOffset, 8 * count);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeNpy(Path file, String type, String shape, long offset, long length) throws IOException {
+        // see https://numpy.org/doc/stable/reference/generated/numpy.lib.format.html
+        StringBuilder header = new StringBuilder("{'descr': '" + type + "', 'fortran_order': False, 'shape': " + shape + ", }");
+        while ((10 + header.length() + 1) % ALIGNMENT != 0) {
+            header.append(' ');
+        }
+        header.append('\n');
+        ByteBuffer preamble = ByteBuffer.allocate(10 + header.length()).order(ByteOrder.LITTLE_ENDIAN);
+        preamble.put((byte) 0x93).put("NUMPY".getBytes(US_ASCII)).put((byte) 1).put((byte) 0)
+                .putShort((short) header.length()).put(header.toString().getBytes(US_ASCII));
+        preamble.flip();
+
+        try (FileChannel target = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            while (preamble.hasRemaining()) {
+                target.write(preamble);
+            }
+            long transferred = 0;
+            while (transferred < length) {
+                transferred += channel.transferTo(offset + transferred, length - transferred, target);
+            }
+        }
+    }
+
+    /**
+     * @return a little-endian buffer with up to the given number of bytes, fewer if the file is shorter
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private void checkPosition(long position) {
+        if (position < 0 || position >= count) {
+            throw new IndexOutOfBoundsException("position " + position);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package dev.ai4j.openai4j.embedding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Writes embedding vectors to a file that {@link EmbeddingFileReader} maps back into memory without parsing.
+ * <p>
+ * The file is columnar and little-endian: a header with the model and the dimensions, the vectors one after
+ * another, then the id of each vector as a long. Vectors are appended as they come, so the writer can be
+ * passed to <code>OpenAiClient.embedding(request, vectorConsumer)</code> or <code>OpenAiClient.embedAll(...)</code>,
+ * in which case the id of a vector is the index of its input. The ids are written, and the header completed,
+ * by {@link #close()}; a file that was not closed cannot be read.
+ * <p>
+ * Not thread-safe.
+ */
+public class EmbeddingFileWriter implements EmbeddingVectorConsumer, Closeable {
+
+    static final int MAGIC = 0x4F41_4956; // "OAIV"
+    static final int VERSION = 1;
+    static final int FIXED_HEADER_BYTES = 40;
+    static final int ALIGNMENT = 64;
+
+    private final FileChannel channel;
+    private final byte[] model;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+    private final long vectorsOffset;
+    private int dimensions;
+    private long position;
+    private long[] ids = new long[1024];
+    private int count;
+
+    /**
+     * @param file  the file to write, replaced if it exists
+     * @param model the model the vectors were computed with, kept in the header
+     */
+    public EmbeddingFileWriter(Path file, String model) {
+        this(file, model, 0);
+    }
+
+    /**
+     * @param dimensions the dimensions of the vectors, or 0 to take them from the first vector
+     */
+    public EmbeddingFileWriter(Path file, String model, int dimensions) {
+        if (dimensions < 0) {
+            throw new IllegalArgumentException("dimensions cannot be negative");
+        }
+        this.model = model == null ? new byte[0] : model.getBytes(UTF_8);
+        this.dimensions = dimensions;
+        this.vectorsOffset = align(FIXED_HEADER_BYTES + this.model.length, ALIGNMENT);
+        this.position = vectorsOffset;
+        try {
+            this.channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes a vector with the index of its input as id.
+     */
+    @Override
+    public void accept(int index, float[] vector) {
+        write(index, vector);
+    }
+
+    public void write(long id, float[] vector) {
+        if (dimensions == 0) {
+            if (vector.length == 0) {
+                throw new IllegalArgumentException("vector cannot be empty");
+            }
+            dimensions = vector.length;
+        } else if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        try {
+            int offset = 0;
+            while (offset < vector.length) {
+                if (buffer.remaining() < 4) {
+                    flush();
+                }
+                int length = Math.min(vector.length - offset, buffer.remaining() / 4);
+                buffer.asFloatBuffer().put(vector, offset, length);
+                buffer.position(buffer.position() + 4 * length);
+                offset += length;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+        }
+        ids[count++] = id;
+    }
+
+    public void write(long id, Embedding embedding) {
+        write(id, embedding.vector());
+    }
+
+    /**
+     * @return the number of vectors written so far
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Writes the ids and the header, then closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            flush();
+            long idsOffset = align(position, 8);
+            position = idsOffset;
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < 8) {
+                    flush();
+                }
+                buffer.putLong(ids[i]);
+            }
+            flush();
+
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(dimensions)
+                    .putInt(model.length)
+                    .putLong(count)
+                    .putLong(vectorsOffset)
+                    .putLong(idsOffset)
+                    .put(model);
+            buffer.flip();
+            long headerPosition = 0;
+            while (buffer.hasRemaining()) {
+                headerPosition += channel.write(buffer, headerPosition);
+            }
+            buffer.clear();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+    }
+
+    static long align(long position, int alignment) {
+        return (position + alignment - 1) / alignment * alignment;
+    }
+}
@@ -28,12 +28,15 @@ public final class EmbeddingRequest {
     private final Integer dimensions;
     @JsonProperty
     private final String user;
+    @JsonProperty
+    private final EncodingFormat encodingFormat;
 
     private EmbeddingRequest(Builder builder) {
         this.model = builder.model;
         this.input = builder.input;
         this.dimensions = builder.dimensions;
         this.user = builder.user;
+        this.encodingFormat = builder.encodingFormat;
     }
 
     public String model() {
@@ -52,6 +55,10 @@ public final class EmbeddingRequest {
         return user;
     }
 
+    public EncodingFormat encodingFormat() {
+        return encodingFormat;
+    }
+
     @Override
     public boolean equals(Object another) {
         if (this == another) return true;
@@ -63,7 +70,8 @@ public final class EmbeddingRequest {
         return Objects.equals(model, another.model)
                 && Objects.equals(input, another.input)
                 && Objects.equals(dimensions, another.dimensions)
-                && Objects.equals(user, another.user);
+                && Objects.equals(user, another.user)
+                && Objects.equals(encodingFormat, another.encodingFormat);
     }
 
     @Override
@@ -73,6 +81,7 @@ public final class EmbeddingRequest {
         h += (h << 5) + Objects.hashCode(input);
         h += (h << 5) + Objects.hashCode(dimensions);
         h += (h << 5) + Objects.hashCode(user);
+        h += (h << 5) + Objects.hashCode(encodingFormat);
         return h;
     }
 
@@ -83,6 +92,7 @@ public final class EmbeddingRequest {
                 + ", input=" + input
                 + ", dimensions=" + dimensions
                 + ", user=" + user
+                + ", encodingFormat=" + encodingFormat
                 + "}";
     }
 
@@ -99,6 +109,7 @@ public final class EmbeddingRequest {
         private List<String> input;
         private Integer dimensions;
         private String user;
+        private EncodingFormat encodingFormat;
 
         private Builder() {
         }
@@ -133,6 +144,11 @@ public final class EmbeddingRequest {
             return this;
         }
 
+        public Builder encodingFormat(EncodingFormat encodingFormat) {
+            this.encodingFormat = encodingFormat;
+            return this;
+        }
+
         public EmbeddingRequest build() {
             return new EmbeddingRequest(this);
         }
@@ -0,0 +1,14 @@
+package dev.ai4j.openai4j.embedding;
+
+/**
+ * Receives embedding vectors one by one, while the response is being read.
+ */
+@FunctionalInterface
+public interface EmbeddingVectorConsumer {
+
+    /**
+     * @param index  index of the input the vector was computed for
+     * @param vector the vector, owned by the consumer
+     */
+    void accept(int index, float[] vector);
+}
@@ -0,0 +1,67 @@
+package dev.ai4j.openai4j.embedding;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Deserializes an embedding vector into a <code>float[]</code>, either from a JSON array of numbers
+ * ({@link EncodingFormat#FLOAT}) or from a base64 string of little-endian floats ({@link EncodingFormat#BASE64}).
+ */
+class EmbeddingVectorDeserializer extends StdDeserializer<float[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    EmbeddingVectorDeserializer() {
+        super(float[].class);
+    }
+
+    @Override
+    public float[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        return readVector(parser);
+    }
+
+    static float[] readVector(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return decodeBase64(parser.getBinaryValue(Base64Variants.MIME_NO_LINEFEEDS));
+        }
+        if (token == JsonToken.START_ARRAY) {
+            return readArray(parser);
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        throw new JsonParseException(parser, "Unexpected token for an embedding vector: " + token);
+    }
+
+    static float[] decodeBase64(byte[] bytes) {
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    private static float[] readArray(JsonParser parser) throws IOException {
+        float[] vector = new float[1536];
+        int size = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                throw new JsonParseException(parser, "Unexpected token in an embedding vector: " + token);
+            }
+            if (size == vector.length) {
+                vector = Arrays.copyOf(vector, size * 2);
+            }
+            vector[size++] = parser.getFloatValue();
+        }
+        return size == vector.length ? vector : Arrays.copyOf(vector, size);
+    }
+}
@@ -0,0 +1,15 @@
+package dev.ai4j.openai4j.embedding;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public enum EncodingFormat {
+
+    @JsonProperty("float")
+    FLOAT,
+    /**
+     * Vectors are returned as base64-encoded little-endian floats, which is about 4 times smaller than JSON numbers
+     * and is decoded without parsing decimal text.
+     */
+    @JsonProperty("base64")
+    BASE64
+}
@@ -0,0 +1,30 @@
+package dev.ai4j.openai4j.embedding;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link java.util.List} view of a <code>float[]</code>. Elements are boxed only when they are accessed.
+ */
+class FloatArrayList extends AbstractList<Float> implements RandomAccess {
+
+    private final float[] values;
+
+    FloatArrayList(float[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public Float get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    float[] values() {
+        return values;
+    }
+}
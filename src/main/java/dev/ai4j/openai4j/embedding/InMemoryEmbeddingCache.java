@@ -0,0 +1,182 @@
+package dev.ai4j.openai4j.embedding;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size-bounded in-memory {@link EmbeddingCache} with W-TinyLFU eviction.
+ * <p>
+ * New vectors enter a small LRU window (1% of the capacity). When they leave the window, they are admitted
+ * into the main space only if they have been requested more often than the vector they would evict,
+ * according to a count-min sketch of recent access frequencies. The main space is a segmented LRU:
+ * vectors hit while on probation are promoted to the protected segment (80% of the main space).
+ * This keeps frequently repeated texts cached even when many one-off texts go through the cache.
+ */
+public class InMemoryEmbeddingCache implements EmbeddingCache {
+
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final int mainCapacity;
+
+    private final LinkedHashMap<EmbeddingCacheKey, float[]> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<EmbeddingCacheKey, float[]> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<EmbeddingCacheKey, float[]> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+
+    /**
+     * @param maximumSize maximum number of vectors held in memory
+     */
+    public InMemoryEmbeddingCache(int maximumSize) {
+        if (maximumSize < 2) {
+            throw new IllegalArgumentException("maximumSize must be at least 2");
+        }
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = maximumSize - windowCapacity;
+        this.protectedCapacity = (int) (mainCapacity * 0.8);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public synchronized float[] get(EmbeddingCacheKey key) {
+        sketch.increment(key);
+
+        float[] vector = window.get(key);
+        if (vector != null) {
+            return vector;
+        }
+        vector = protectedSegment.get(key);
+        if (vector != null) {
+            return vector;
+        }
+        vector = probation.remove(key);
+        if (vector != null) {
+            protectedSegment.put(key, vector);
+            if (protectedSegment.size() > protectedCapacity) {
+                Map.Entry<EmbeddingCacheKey, float[]> demoted = removeEldest(protectedSegment);
+                probation.put(demoted.getKey(), demoted.getValue());
+            }
+        }
+        return vector;
+    }
+
+    @Override
+    public synchronized void put(EmbeddingCacheKey key, float[] vector) {
+        if (window.containsKey(key)) {
+            window.put(key, vector);
+            return;
+        }
+        if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, vector);
+            return;
+        }
+        if (probation.containsKey(key)) {
+            probation.put(key, vector);
+            return;
+        }
+
+        sketch.increment(key);
+        window.put(key, vector);
+        if (window.size() <= windowCapacity) {
+            return;
+        }
+
+        Map.Entry<EmbeddingCacheKey, float[]> candidate = removeEldest(window);
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate.getKey(), candidate.getValue());
+            return;
+        }
+
+        LinkedHashMap<EmbeddingCacheKey, float[]> victimSegment = probation.isEmpty() ? protectedSegment : probation;
+        EmbeddingCacheKey victim = victimSegment.keySet().iterator().next();
+        if (sketch.frequency(candidate.getKey()) > sketch.frequency(victim)) {
+            victimSegment.remove(victim);
+            probation.put(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedSegment.size();
+    }
+
+    private static Map.Entry<EmbeddingCacheKey, float[]> removeEldest(LinkedHashMap<EmbeddingCacheKey, float[]> segment) {
+        Iterator<Map.Entry<EmbeddingCacheKey, float[]>> iterator = segment.entrySet().iterator();
+        Map.Entry<EmbeddingCacheKey, float[]> eldest = iterator.next();
+        Map.Entry<EmbeddingCacheKey, float[]> copy = new AbstractMap.SimpleImmutableEntry<>(eldest);
+        iterator.remove();
+        return copy;
+    }
+
+    /**
+     * Count-min sketch with 4 rows of saturating 4-bit counters. All counters are halved every
+     * <code>10 * maximumSize</code> increments, so that old popularity fades out.
+     */
+    static class FrequencySketch {
+
+        private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0x27D4EB2F165667C5L};
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int size = Integer.highestOneBit(Math.max(4, maximumSize - 1)) << 1; // power of two, at least maximumSize
+            this.table = new long[size];
+            this.mask = size - 1;
+            this.sampleSize = 10 * maximumSize;
+        }
+
+        void increment(EmbeddingCacheKey key) {
+            boolean added = false;
+            for (int row = 0; row < 4; row++) {
+                added |= incrementAt(hash(key, row), row);
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(EmbeddingCacheKey key) {
+            int frequency = Integer.MAX_VALUE;
+            for (int row = 0; row < 4; row++) {
+                frequency = Math.min(frequency, counterAt(hash(key, row), row));
+            }
+            return frequency;
+        }
+
+        private static int hash(EmbeddingCacheKey key, int row) {
+            long hash = (key.low() ^ key.high()) * SEEDS[row];
+            return (int) (hash ^ (hash >>> 32));
+        }
+
+        // each long holds 16 counters, 4 per row: the slot is picked by the low bits of the hash,
+        // the counter within the slot by its top bits
+        private boolean incrementAt(int hash, int row) {
+            int slot = hash & mask;
+            int shift = counterShift(hash, row);
+            long counterMask = 0xFL << shift;
+            if ((table[slot] & counterMask) == counterMask) {
+                return false;
+            }
+            table[slot] += 1L << shift;
+            return true;
+        }
+
+        private int counterAt(int hash, int row) {
+            return (int) ((table[hash & mask] >>> counterShift(hash, row)) & 0xF);
+        }
+
+        private static int counterShift(int hash, int row) {
+            return ((row << 2) + (hash >>> 30)) << 2;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+            }
+            additions /= 2;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.ai4j.openai4j.embedding;
+
+/**
+ * {@link EmbeddingCache} that looks up a fast tier first (typically an {@link InMemoryEmbeddingCache}),
+ * then a slow tier (typically a {@link DiskEmbeddingCache}). Vectors found in the slow tier are copied
+ * into the fast tier, new vectors are written to both.
+ */
+public class TieredEmbeddingCache implements EmbeddingCache {
+
+    private final EmbeddingCache fastTier;
+    private final EmbeddingCache slowTier;
+
+    public TieredEmbeddingCache(EmbeddingCache fastTier, EmbeddingCache slowTier) {
+        if (fastTier == null || slowTier == null) {
+            throw new IllegalArgumentException("fastTier and slowTier must be defined");
+        }
+        this.fastTier = fastTier;
+        this.slowTier = slowTier;
+    }
+
+    @Override
+    public float[] get(EmbeddingCacheKey key) {
+        float[] vector = fastTier.get(key);
+        if (vector == null) {
+            vector = slowTier.get(key);
+            if (vector != null) {
+                fastTier.put(key, vector);
+            }
+        }
+        return vector;
+    }
+
+    @Override
+    public void put(EmbeddingCacheKey key, float[] vector) {
+        slowTier.put(key, vector);
+        fastTier.put(key, vector);
+    }
+}
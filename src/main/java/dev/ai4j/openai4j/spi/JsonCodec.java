@@ -0,0 +1,52 @@
+package dev.ai4j.openai4j.spi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Serializes the requests to JSON and deserializes the responses, for the sync, async and streaming calls.
+ * <p>
+ * The default implementation uses Jackson. Another one can be plugged in with a {@link JsonCodecFactory}
+ * registered in <code>META-INF/services/dev.ai4j.openai4j.spi.JsonCodecFactory</code>.
+ * It must produce and accept the same JSON as the Jackson annotations of the model classes
+ * (snake case names, no null values), and be thread-safe.
+ * <p>
+ * The one exception is the embedding call that hands the vectors over to an
+ * {@link dev.ai4j.openai4j.embedding.EmbeddingVectorConsumer}: its response is always read incrementally with Jackson.
+ */
+public interface JsonCodec {
+
+    /**
+     * Writes the value as JSON. The stream is left open.
+     */
+    void toJson(Object value, OutputStream outputStream) throws IOException;
+
+    default byte[] toJsonBytes(Object value) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        toJson(value, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    default String toJson(Object value) throws IOException {
+        return new String(toJsonBytes(value), UTF_8);
+    }
+
+    /**
+     * Reads a value from UTF-8 encoded JSON.
+     */
+    <T> T fromJson(byte[] json, int offset, int length, Class<T> type) throws IOException;
+
+    /**
+     * Reads a value from UTF-8 encoded JSON. The stream is not closed.
+     */
+    <T> T fromJson(InputStream inputStream, Class<T> type) throws IOException;
+
+    default <T> T fromJson(String json, Class<T> type) throws IOException {
+        byte[] bytes = json.getBytes(UTF_8);
+        return fromJson(bytes, 0, bytes.length, type);
+    }
+}
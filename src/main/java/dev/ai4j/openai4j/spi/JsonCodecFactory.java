@@ -0,0 +1,6 @@
+package dev.ai4j.openai4j.spi;
+
+import java.util.function.Supplier;
+
+public interface JsonCodecFactory extends Supplier<JsonCodec> {
+}
@@ -0,0 +1,112 @@
+package dev.ai4j.openai4j.vector;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Store of vectors quantized to one bit per dimension (its sign), 32 times smaller than a {@link FloatMatrix}.
+ * The bits are kept row after row in chunks of up to 64 MiB.
+ * <p>
+ * Vectors are compared by Hamming distance, reported as a score of <code>dimensions - 2 * distance</code>,
+ * which only roughly follows the cosine similarity of the original vectors. Search for several times
+ * more candidates than needed, then rescore them with an {@link Int8QuantizedMatrix} or a {@link FloatMatrix}:
+ * <pre>
+ * List&lt;SearchHit&gt; candidates = binary.search(query, 10 * k);
+ * List&lt;SearchHit&gt; hits = floats.rescore(query, candidates, k, Similarity.COSINE);
+ * </pre>
+ * Searches can run concurrently with each other, but not with {@link #add(float[])}.
+ */
+public class BinaryQuantizedMatrix {
+
+    private final int dimensions;
+    private final int words;
+    private final LongRows data;
+    private int rows;
+
+    public BinaryQuantizedMatrix(int dimensions) {
+        this(dimensions, 1024);
+    }
+
+    public BinaryQuantizedMatrix(int dimensions, int initialCapacity) {
+        this(dimensions, initialCapacity, ChunkedRows.DEFAULT_CHUNK_BYTES);
+    }
+
+    BinaryQuantizedMatrix(int dimensions, int initialCapacity, int chunkBytes) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity cannot be negative");
+        }
+        this.dimensions = dimensions;
+        this.words = (dimensions + 63) >>> 6;
+        this.data = new LongRows(words, Math.max(1, initialCapacity), chunkBytes);
+    }
+
+    /**
+     * @return the index of the added row
+     */
+    public int add(float[] vector) {
+        checkDimensions(vector.length);
+        if (rows == data.capacity()) {
+            data.ensureCapacity(Math.max(rows + 1, rows + (rows >> 1)));
+        }
+        int row = rows++;
+        quantize(vector, data.chunk(row), data.offset(row));
+        return row;
+    }
+
+    /**
+     * @return the index of the added row
+     */
+    public int add(Embedding embedding) {
+        return add(embedding.vector());
+    }
+
+    /**
+     * Sets bit <code>i</code> of <code>target[offset, offset + (vector.length + 63) / 64)</code>
+     * when <code>vector[i]</code> is positive.
+     */
+    public static void quantize(float[] vector, long[] target, int offset) {
+        int words = (vector.length + 63) >>> 6;
+        Arrays.fill(target, offset, offset + words, 0);
+        for (int i = 0; i < vector.length; i++) {
+            if (vector[i] > 0) {
+                target[offset + (i >>> 6)] |= 1L << (i & 63);
+            }
+        }
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * @return the k rows with the smallest Hamming distance to the query, best first
+     */
+    public List<SearchHit> search(float[] query, int k) {
+        checkDimensions(query.length);
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        long[] quantized = new long[words];
+        quantize(query, quantized, 0);
+        TopK topK = new TopK(Math.max(1, Math.min(k, rows)));
+        for (int row = 0; row < rows; row++) {
+            topK.offer(row, dimensions - 2 * VectorMath.hamming(quantized, 0, data.chunk(row), data.offset(row), words));
+        }
+        return topK.hits();
+    }
+
+    private void checkDimensions(int dimensions) {
+        if (dimensions != this.dimensions) {
+            throw new IllegalArgumentException("Expected " + this.dimensions + " dimensions, got " + dimensions);
+        }
+    }
+}
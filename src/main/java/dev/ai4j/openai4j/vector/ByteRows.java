@@ -0,0 +1,34 @@
+package dev.ai4j.openai4j.vector;
+
+import java.util.Arrays;
+
+/**
+ * Rows of bytes with the same width, see {@link ChunkedRows}.
+ */
+final class ByteRows extends ChunkedRows {
+
+    private byte[][] chunks = new byte[0][];
+
+    ByteRows(int width, int initialCapacity, int chunkBytes) {
+        super(width, chunkBytes / Byte.BYTES);
+        ensureCapacity(initialCapacity);
+    }
+
+    byte[] chunk(int row) {
+        return chunks[row >>> chunkShift];
+    }
+
+    @Override
+    void allocate(int chunks, int chunkLength) {
+        if (chunks > this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, chunks);
+        }
+        for (int i = 0; i < chunks; i++) {
+            if (this.chunks[i] == null) {
+                this.chunks[i] = new byte[chunkLength];
+            } else if (this.chunks[i].length < chunkLength) {
+                this.chunks[i] = Arrays.copyOf(this.chunks[i], chunkLength);
+            }
+        }
+    }
+}
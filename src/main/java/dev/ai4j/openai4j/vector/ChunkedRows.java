@@ -0,0 +1,54 @@
+package dev.ai4j.openai4j.vector;
+
+/**
+ * Rows of primitive values with the same width, kept in chunks of up to 64 MiB rather than in a single array,
+ * so that the number of rows times the width is not limited to the maximum size of an array.
+ * A row never spans two chunks: it is read from the chunk of the row, starting at {@link #offset(int)}.
+ * Subclasses hold the chunks of one primitive type.
+ * <p>
+ * Not thread-safe: rows must not be read while {@link #ensureCapacity(int)} runs.
+ */
+abstract class ChunkedRows {
+
+    static final int DEFAULT_CHUNK_BYTES = 64 << 20;
+
+    final int width;
+    final int chunkShift; // log2 of the number of rows per chunk
+    private final int rowMask;
+    private int capacity;
+
+    ChunkedRows(int width, int chunkElements) {
+        this.width = width;
+        this.chunkShift = 31 - Integer.numberOfLeadingZeros(Math.max(1, chunkElements / width));
+        this.rowMask = (1 << chunkShift) - 1;
+    }
+
+    final int offset(int row) {
+        return (row & rowMask) * width;
+    }
+
+    final int rowsPerChunk() {
+        return 1 << chunkShift;
+    }
+
+    final int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Grows the first chunk up to its full size, then adds full chunks.
+     */
+    final void ensureCapacity(int rows) {
+        if (rows <= capacity) {
+            return;
+        }
+        int lastChunk = (rows - 1) >>> chunkShift;
+        allocate(lastChunk + 1, (lastChunk == 0 ? rows : rowsPerChunk()) * width);
+        capacity = lastChunk == 0 ? rows : (int) Math.min(Integer.MAX_VALUE, (long) (lastChunk + 1) << chunkShift);
+    }
+
+    /**
+     * Makes the given number of chunks available, each with at least the given length.
+     */
+    abstract void allocate(int chunks, int chunkLength);
+}
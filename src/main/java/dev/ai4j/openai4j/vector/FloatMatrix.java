@@ -0,0 +1,228 @@
+package dev.ai4j.openai4j.vector;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Growable store of vectors with the same dimensions, kept row after row in chunks of up to 64 MiB,
+ * with exact (brute-force) top-k search.
+ * <p>
+ * The norm of each row is computed once, when it is added, so {@link Similarity#COSINE} costs the same as
+ * {@link Similarity#DOT_PRODUCT}. Large searches are split across the common {@link ForkJoinPool}.
+ * <p>
+ * Searches can run concurrently with each other, but not with {@link #add(float[])}.
+ */
+public class FloatMatrix {
+
+    private static final int PARALLEL_SEARCH_THRESHOLD = 16_384; // rows per task
+
+    private final int dimensions;
+    private final FloatRows data;
+    private float[] norms;
+    private int rows;
+
+    public FloatMatrix(int dimensions) {
+        this(dimensions, 1024);
+    }
+
+    public FloatMatrix(int dimensions, int initialCapacity) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity cannot be negative");
+        }
+        this.dimensions = dimensions;
+        this.data = new FloatRows(dimensions, Math.max(1, initialCapacity));
+        this.norms = new float[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * @return the index of the added row
+     */
+    public int add(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+        int row = newRow();
+        System.arraycopy(vector, 0, data.chunk(row), data.offset(row), dimensions);
+        norms[row] = VectorMath.norm(data.chunk(row), data.offset(row), dimensions);
+        return row;
+    }
+
+    /**
+     * Copies the vector straight from the embedding, without going through a <code>List&lt;Float&gt;</code>.
+     *
+     * @return the index of the added row
+     */
+    public int add(Embedding embedding) {
+        if (embedding.dimensions() != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + embedding.dimensions());
+        }
+        int row = newRow();
+        embedding.vectorBuffer().get(data.chunk(row), data.offset(row), dimensions);
+        norms[row] = VectorMath.norm(data.chunk(row), data.offset(row), dimensions);
+        return row;
+    }
+
+    /**
+     * Adds the embeddings of the response in {@link Embedding#index()} order, so that the rows follow the inputs.
+     *
+     * @return the index of the row of the first embedding
+     */
+    public int addAll(EmbeddingResponse response) {
+        List<Embedding> embeddings = new ArrayList<>(response.data());
+        embeddings.sort(Comparator.comparing(Embedding::index, Comparator.nullsLast(Comparator.naturalOrder())));
+        int first = rows;
+        for (Embedding embedding : embeddings) {
+            add(embedding);
+        }
+        return first;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * @return a copy of the row
+     */
+    public float[] row(int row) {
+        checkRow(row);
+        return data.row(row);
+    }
+
+    public float get(int row, int dimension) {
+        checkRow(row);
+        if (dimension < 0 || dimension >= dimensions) {
+            throw new IndexOutOfBoundsException("dimension " + dimension);
+        }
+        return data.chunk(row)[data.offset(row) + dimension];
+    }
+
+    public float score(float[] query, int row, Similarity similarity) {
+        checkQuery(query);
+        checkRow(row);
+        return score(query, VectorMath.norm(query), row, similarity);
+    }
+
+    /**
+     * @return the k rows most similar to the query, best first
+     */
+    public List<SearchHit> search(float[] query, int k, Similarity similarity) {
+        checkQuery(query);
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        float queryNorm = VectorMath.norm(query);
+        if (rows <= PARALLEL_SEARCH_THRESHOLD) {
+            return scan(query, queryNorm, similarity, k, 0, rows).hits();
+        }
+        return ForkJoinPool.commonPool().invoke(new SearchTask(query, queryNorm, similarity, k, 0, rows)).hits();
+    }
+
+    /**
+     * Recomputes the exact scores of candidates found in a quantized copy of this matrix
+     * (see {@link Int8QuantizedMatrix} and {@link BinaryQuantizedMatrix}).
+     *
+     * @return the k best candidates, best first
+     */
+    public List<SearchHit> rescore(float[] query, List<SearchHit> candidates, int k, Similarity similarity) {
+        checkQuery(query);
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        float queryNorm = VectorMath.norm(query);
+        TopK topK = new TopK(Math.max(1, Math.min(k, candidates.size())));
+        for (SearchHit candidate : candidates) {
+            checkRow(candidate.index());
+            topK.offer(candidate.index(), score(query, queryNorm, candidate.index(), similarity));
+        }
+        return topK.hits();
+    }
+
+    private TopK scan(float[] query, float queryNorm, Similarity similarity, int k, int from, int to) {
+        TopK topK = new TopK(Math.min(k, Math.max(1, to - from)));
+        for (int row = from; row < to; row++) {
+            topK.offer(row, score(query, queryNorm, row, similarity));
+        }
+        return topK;
+    }
+
+    private float score(float[] query, float queryNorm, int row, Similarity similarity) {
+        float dot = VectorMath.dot(query, 0, data.chunk(row), data.offset(row), dimensions);
+        if (similarity == Similarity.DOT_PRODUCT) {
+            return dot;
+        }
+        float norms = queryNorm * this.norms[row];
+        return norms == 0 ? 0 : dot / norms;
+    }
+
+    private int newRow() {
+        if (rows == norms.length) {
+            int capacity = Math.max(norms.length + 1, norms.length + (norms.length >> 1));
+            data.ensureCapacity(capacity);
+            norms = Arrays.copyOf(norms, capacity);
+        }
+        return rows++;
+    }
+
+    private void checkQuery(float[] query) {
+        if (query.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + query.length);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("row " + row);
+        }
+    }
+
+    private class SearchTask extends RecursiveTask<TopK> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final float[] query;
+        private final float queryNorm;
+        private final Similarity similarity;
+        private final int k;
+        private final int from;
+        private final int to;
+
+        SearchTask(float[] query, float queryNorm, Similarity similarity, int k, int from, int to) {
+            this.query = query;
+            this.queryNorm = queryNorm;
+            this.similarity = similarity;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= PARALLEL_SEARCH_THRESHOLD) {
+                return scan(query, queryNorm, similarity, k, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SearchTask left = new SearchTask(query, queryNorm, similarity, k, from, middle);
+            left.fork();
+            TopK right = new SearchTask(query, queryNorm, similarity, k, middle, to).compute();
+            TopK merged = new TopK(k);
+            merged.addAll(left.join());
+            merged.addAll(right);
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package dev.ai4j.openai4j.vector;
+
+import java.util.Arrays;
+
+/**
+ * Rows of floats with the same dimensions, see {@link ChunkedRows}.
+ */
+final class FloatRows extends ChunkedRows {
+
+    private float[][] chunks = new float[0][];
+
+    FloatRows(int dimensions, int initialCapacity) {
+        this(dimensions, initialCapacity, DEFAULT_CHUNK_BYTES);
+    }
+
+    FloatRows(int dimensions, int initialCapacity, int chunkBytes) {
+        super(dimensions, chunkBytes / Float.BYTES);
+        ensureCapacity(initialCapacity);
+    }
+
+    float[] chunk(int row) {
+        return chunks[row >>> chunkShift];
+    }
+
+    /**
+     * @return a copy of the row
+     */
+    float[] row(int row) {
+        int offset = offset(row);
+        return Arrays.copyOfRange(chunk(row), offset, offset + width);
+    }
+
+    @Override
+    void allocate(int chunks, int chunkLength) {
+        if (chunks > this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, chunks);
+        }
+        for (int i = 0; i < chunks; i++) {
+            if (this.chunks[i] == null) {
+                this.chunks[i] = new float[chunkLength];
+            } else if (this.chunks[i].length < chunkLength) {
+                this.chunks[i] = Arrays.copyOf(this.chunks[i], chunkLength);
+            }
+        }
+    }
+}
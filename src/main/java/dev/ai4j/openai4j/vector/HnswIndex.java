@@ -0,0 +1,684 @@
+package dev.ai4j.openai4j.vector;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Approximate nearest neighbour index based on Hierarchical Navigable Small World graphs
+ * (Malkov and Yashunin, 2016).
+ * <p>
+ * The capacity is fixed when the index is created: vectors and the links of the bottom layer are kept row after row
+ * in chunks of up to 64 MiB, so that the index does not hold one object per vector. Saved indexes are loaded through
+ * mappings of the same size. Vectors are identified by their insertion order.
+ * <p>
+ * Vectors can be added from several threads at once, and searched while they are being added.
+ * {@link #save(Path)} must not run concurrently with additions.
+ */
+public class HnswIndex {
+
+    private static final int MAGIC = 0x484E_5357; // "HNSW"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * 9;
+    private static final int LOCK_STRIPES = 1024;
+
+    private final int dimensions;
+    private final int capacity;
+    private final int m;
+    private final int efConstruction;
+    private final int efSearch;
+    private final Similarity similarity;
+    private final double levelMultiplier;
+
+    private final FloatRows vectors;
+    private final IntRows bottomLinks; // per node: the number of neighbours, then up to 2 * m neighbours
+    private final int[][][] upperLinks; // per node and layer above the bottom one: the number of neighbours, then up to m neighbours
+    private final Object[] locks = new Object[LOCK_STRIPES]; // guard the links of the nodes they are striped over
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final Object entryPointLock = new Object();
+    private volatile EntryPoint entryPoint; // null when empty
+
+    private final Queue<VisitedNodes> visitedNodesPool = new ConcurrentLinkedQueue<>(); // one per concurrent search at most
+
+    private HnswIndex(Builder builder) {
+        if (builder.dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        if (builder.capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        if (builder.m < 2) {
+            throw new IllegalArgumentException("m must be at least 2");
+        }
+        if (builder.efConstruction <= 0 || builder.efSearch <= 0) {
+            throw new IllegalArgumentException("efConstruction and efSearch must be positive");
+        }
+        this.dimensions = builder.dimensions;
+        this.capacity = builder.capacity;
+        this.m = builder.m;
+        this.efConstruction = builder.efConstruction;
+        this.efSearch = builder.efSearch;
+        this.similarity = builder.similarity;
+        this.levelMultiplier = 1 / Math.log(m);
+
+        this.vectors = new FloatRows(dimensions, capacity, builder.chunkBytes);
+        this.bottomLinks = new IntRows(1 + 2 * m, capacity, builder.chunkBytes);
+        this.upperLinks = new int[capacity][][];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * @return the id of the vector
+     */
+    public int add(float[] vector) {
+        checkDimensions(vector.length);
+        int node = newNode();
+        System.arraycopy(vector, 0, vectors.chunk(node), vectors.offset(node), dimensions);
+        link(node);
+        return node;
+    }
+
+    /**
+     * Copies the vector straight from the embedding, without going through a <code>List&lt;Float&gt;</code>.
+     *
+     * @return the id of the vector
+     */
+    public int add(Embedding embedding) {
+        checkDimensions(embedding.dimensions());
+        int node = newNode();
+        embedding.vectorBuffer().get(vectors.chunk(node), vectors.offset(node), dimensions);
+        link(node);
+        return node;
+    }
+
+    /**
+     * @return the ids of the vectors, in {@link Embedding#index()} order. They are consecutive unless
+     * other threads are adding vectors at the same time.
+     */
+    public int[] addAll(EmbeddingResponse response) {
+        List<Embedding> embeddings = response.data();
+        int[] ids = new int[embeddings.size()];
+        for (Embedding embedding : embeddings) {
+            Integer index = embedding.index();
+            if (index == null || index < 0 || index >= ids.length) {
+                throw new IllegalArgumentException("Unexpected embedding index: " + index);
+            }
+            ids[index] = add(embedding);
+        }
+        return ids;
+    }
+
+    public List<SearchHit> search(float[] query, int k) {
+        return search(query, k, Math.max(k, efSearch));
+    }
+
+    /**
+     * @param ef the number of candidates tracked during the search, higher is more accurate but slower
+     * @return up to k approximate nearest neighbours of the query, best first
+     */
+    public List<SearchHit> search(float[] query, int k, int ef) {
+        checkDimensions(query.length);
+        if (k <= 0 || ef < k) {
+            throw new IllegalArgumentException("k must be positive, and ef at least k");
+        }
+        EntryPoint entryPoint = this.entryPoint;
+        if (entryPoint == null) {
+            return new ArrayList<>();
+        }
+        float[] normalizedQuery = similarity == Similarity.COSINE ? VectorMath.normalize(query.clone()) : query;
+        int closest = greedySearch(normalizedQuery, 0, entryPoint.node, entryPoint.layer, 1);
+        TopK candidates = searchLayer(normalizedQuery, 0, closest, ef, 0);
+        List<SearchHit> hits = candidates.hits();
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+    }
+
+    /**
+     * Searches the queries in parallel, in the common {@link java.util.concurrent.ForkJoinPool}.
+     *
+     * @return the hits of each query, in query order
+     */
+    public List<List<SearchHit>> searchAll(List<float[]> queries, int k) {
+        return queries.parallelStream().map(query -> search(query, k)).collect(toList());
+    }
+
+    public int size() {
+        return Math.min(size.get(), capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * @return a copy of the vector, normalized if the similarity is {@link Similarity#COSINE}
+     */
+    public float[] vector(int id) {
+        if (id < 0 || id >= size()) {
+            throw new IndexOutOfBoundsException("id " + id);
+        }
+        return vectors.row(id);
+    }
+
+    private int newNode() {
+        int node = size.getAndIncrement();
+        if (node >= capacity) {
+            size.decrementAndGet();
+            throw new IllegalStateException("The index is full, its capacity is " + capacity);
+        }
+        return node;
+    }
+
+    private void link(int node) {
+        float[] vector = vectors.chunk(node);
+        int offset = vectors.offset(node);
+        if (similarity == Similarity.COSINE) {
+            float norm = VectorMath.norm(vector, offset, dimensions);
+            if (norm != 0) {
+                for (int i = offset; i < offset + dimensions; i++) {
+                    vector[i] /= norm;
+                }
+            }
+        }
+
+        int layer = randomLayer();
+        int[][] links = new int[layer][1 + m];
+        synchronized (lock(node)) {
+            upperLinks[node] = links;
+        }
+
+        EntryPoint entryPoint;
+        synchronized (entryPointLock) {
+            entryPoint = this.entryPoint;
+            if (entryPoint == null) {
+                this.entryPoint = new EntryPoint(node, layer);
+                return;
+            }
+        }
+
+        int topLayer = entryPoint.layer;
+        int closest = greedySearch(vector, offset, entryPoint.node, topLayer, layer + 1);
+        for (int l = Math.min(layer, topLayer); l >= 0; l--) {
+            List<SearchHit> candidates = searchLayer(vector, offset, closest, efConstruction, l).hits();
+            int[] neighbours = selectNeighbours(node, candidates, m);
+            setLinks(node, l, neighbours, neighbours.length);
+            for (int neighbour : neighbours) {
+                addLink(neighbour, l, node);
+            }
+            closest = candidates.get(0).index();
+        }
+
+        if (layer > topLayer) {
+            synchronized (entryPointLock) {
+                if (layer > this.entryPoint.layer) {
+                    this.entryPoint = new EntryPoint(node, layer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks down from the top layer to the given layer, moving to the closest neighbour on each layer.
+     */
+    private int greedySearch(float[] query, int queryOffset, int entryPoint, int fromLayer, int toLayer) {
+        int current = entryPoint;
+        float currentScore = score(query, queryOffset, current);
+        int[] neighbours = new int[1 + 2 * m];
+        for (int layer = fromLayer; layer >= toLayer; layer--) {
+            boolean moved = true;
+            while (moved) {
+                moved = false;
+                int count = copyLinks(current, layer, neighbours);
+                for (int i = 1; i <= count; i++) {
+                    float score = score(query, queryOffset, neighbours[i]);
+                    if (score > currentScore) {
+                        currentScore = score;
+                        current = neighbours[i];
+                        moved = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private TopK searchLayer(float[] query, int queryOffset, int entryPoint, int ef, int layer) {
+        VisitedNodes visited = visitedNodesPool.poll();
+        if (visited == null) {
+            visited = new VisitedNodes(capacity);
+        }
+        try {
+            return searchLayer(query, queryOffset, entryPoint, ef, layer, visited);
+        } finally {
+            visitedNodesPool.offer(visited);
+        }
+    }
+
+    private TopK searchLayer(float[] query, int queryOffset, int entryPoint, int ef, int layer, VisitedNodes visited) {
+        visited.clear();
+        NodeQueue candidates = new NodeQueue();
+        TopK results = new TopK(ef);
+        int[] neighbours = new int[1 + 2 * m];
+
+        float entryScore = score(query, queryOffset, entryPoint);
+        visited.add(entryPoint);
+        candidates.push(entryPoint, entryScore);
+        results.offer(entryPoint, entryScore);
+
+        while (!candidates.isEmpty()) {
+            int candidate = candidates.topNode();
+            if (results.isFull() && candidates.topScore() < results.minScore()) {
+                break;
+            }
+            candidates.pop();
+            int count = copyLinks(candidate, layer, neighbours);
+            for (int i = 1; i <= count; i++) {
+                int neighbour = neighbours[i];
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                float score = score(query, queryOffset, neighbour);
+                if (!results.isFull() || score > results.minScore()) {
+                    candidates.push(neighbour, score);
+                    results.offer(neighbour, score);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Keeps the candidates that are closer to the base node than to any candidate already kept,
+     * so that the links point in diverse directions (the heuristic of the paper, without the pruned fill-up).
+     *
+     * @param candidates best first
+     */
+    private int[] selectNeighbours(int node, List<SearchHit> candidates, int max) {
+        int[] selected = new int[Math.min(max, candidates.size())];
+        int count = 0;
+        for (SearchHit candidate : candidates) {
+            if (count == selected.length) {
+                break;
+            }
+            if (candidate.index() == node) {
+                continue;
+            }
+            boolean diverse = true;
+            for (int i = 0; i < count; i++) {
+                if (score(vectors.chunk(candidate.index()), vectors.offset(candidate.index()), selected[i]) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = candidate.index();
+            }
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    private void addLink(int node, int layer, int neighbour) {
+        synchronized (lock(node)) {
+            int[] links = layer == 0 ? bottomLinks.chunk(node) : upperLinks[node][layer - 1];
+            int offset = layer == 0 ? bottomLinks.offset(node) : 0;
+            int max = maxLinks(layer);
+            int count = links[offset];
+            if (count < max) {
+                links[offset + 1 + count] = neighbour;
+                links[offset] = count + 1;
+                return;
+            }
+
+            float[] vector = vectors.chunk(node);
+            int vectorOffset = vectors.offset(node);
+            TopK candidates = new TopK(count + 1);
+            for (int i = 1; i <= count; i++) {
+                candidates.offer(links[offset + i], score(vector, vectorOffset, links[offset + i]));
+            }
+            candidates.offer(neighbour, score(vector, vectorOffset, neighbour));
+            int[] selected = selectNeighbours(node, candidates.hits(), max);
+            System.arraycopy(selected, 0, links, offset + 1, selected.length);
+            links[offset] = selected.length;
+        }
+    }
+
+    private void setLinks(int node, int layer, int[] neighbours, int count) {
+        synchronized (lock(node)) {
+            int[] links = layer == 0 ? bottomLinks.chunk(node) : upperLinks[node][layer - 1];
+            int offset = layer == 0 ? bottomLinks.offset(node) : 0;
+            System.arraycopy(neighbours, 0, links, offset + 1, count);
+            links[offset] = count;
+        }
+    }
+
+    /**
+     * @return the number of neighbours, copied from <code>target[1]</code>
+     */
+    private int copyLinks(int node, int layer, int[] target) {
+        synchronized (lock(node)) {
+            int[] links = layer == 0 ? bottomLinks.chunk(node) : upperLinks[node][layer - 1];
+            int offset = layer == 0 ? bottomLinks.offset(node) : 0;
+            int count = links[offset];
+            System.arraycopy(links, offset, target, 0, 1 + count);
+            return count;
+        }
+    }
+
+    private int maxLinks(int layer) {
+        return layer == 0 ? 2 * m : m;
+    }
+
+    private Object lock(int node) {
+        return locks[node & (LOCK_STRIPES - 1)];
+    }
+
+    private float score(float[] query, int queryOffset, int node) {
+        return VectorMath.dot(query, queryOffset, vectors.chunk(node), vectors.offset(node), dimensions);
+    }
+
+    private int randomLayer() {
+        double random = 1 - ThreadLocalRandom.current().nextDouble(); // (0, 1]
+        return (int) (-Math.log(random) * levelMultiplier);
+    }
+
+    private void checkDimensions(int dimensions) {
+        if (dimensions != this.dimensions) {
+            throw new IllegalArgumentException("Expected " + this.dimensions + " dimensions, got " + dimensions);
+        }
+    }
+
+    /**
+     * Writes the index to a file: a header, the vectors, then the links, all little-endian.
+     */
+    public void save(Path file) throws IOException {
+        int size = size();
+        EntryPoint entryPoint = this.entryPoint;
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(dimensions).putInt(m).putInt(efConstruction).putInt(efSearch)
+                    .putInt(similarity.ordinal()).putInt(size).putInt(entryPoint == null ? -1 : entryPoint.node);
+            for (int node = 0; node < size; node++) {
+                float[] vector = vectors.chunk(node);
+                int offset = vectors.offset(node);
+                for (int i = offset; i < offset + dimensions; i++) {
+                    if (!buffer.hasRemaining()) {
+                        drain(buffer, channel);
+                    }
+                    buffer.putFloat(vector[i]);
+                }
+            }
+            for (int node = 0; node < size; node++) {
+                int[][] links = upperLinks[node];
+                ensureRemaining(buffer, channel, 4 * (2 + 2 * m + links.length * (1 + m)));
+                buffer.putInt(links.length);
+                int[] bottom = bottomLinks.chunk(node);
+                int offset = bottomLinks.offset(node);
+                for (int i = offset; i < offset + 1 + 2 * m; i++) {
+                    buffer.putInt(bottom[i]);
+                }
+                for (int[] layer : links) {
+                    for (int link : layer) {
+                        buffer.putInt(link);
+                    }
+                }
+            }
+            drain(buffer, channel);
+        }
+    }
+
+    /**
+     * Loads an index written by {@link #save(Path)}, with room for as many vectors as it contains.
+     */
+    public static HnswIndex load(Path file) throws IOException {
+        return load(file, 0);
+    }
+
+    /**
+     * Loads an index written by {@link #save(Path)} through memory mappings of the file.
+     *
+     * @param capacity the capacity of the loaded index, raised to the number of vectors in the file if lower
+     */
+    public static HnswIndex load(Path file, int capacity) throws IOException {
+        return load(file, capacity, ChunkedRows.DEFAULT_CHUNK_BYTES);
+    }
+
+    static HnswIndex load(Path file, int capacity, int chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not an HNSW index file, or written by an incompatible version");
+            }
+            Builder builder = builder()
+                    .dimensions(header.getInt())
+                    .m(header.getInt())
+                    .efConstruction(header.getInt())
+                    .efSearch(header.getInt())
+                    .similarity(Similarity.values()[header.getInt()]);
+            int size = header.getInt();
+            int entryPoint = header.getInt();
+            HnswIndex index = builder.capacity(Math.max(1, Math.max(size, capacity))).chunkBytes(chunkBytes).build();
+
+            long position = HEADER_BYTES;
+            FloatRows vectors = index.vectors;
+            for (int node = 0; node < size; node += vectors.rowsPerChunk()) {
+                // one mapping per chunk of the vectors
+                int floats = Math.min(vectors.rowsPerChunk(), size - node) * index.dimensions;
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * floats);
+                chunk.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vectors.chunk(node), vectors.offset(node), floats);
+                position += 4L * floats;
+            }
+
+            ChunkedMapping links = new ChunkedMapping(channel, position, chunkBytes);
+            for (int node = 0; node < size; node++) {
+                int layers = links.next(4).getInt();
+                int[][] upperLinks = new int[layers][1 + index.m];
+                ByteBuffer buffer = links.next(4 * (1 + 2 * index.m + layers * (1 + index.m)));
+                buffer.asIntBuffer().get(index.bottomLinks.chunk(node), index.bottomLinks.offset(node), 1 + 2 * index.m);
+                buffer.position(buffer.position() + 4 * (1 + 2 * index.m));
+                for (int[] layer : upperLinks) {
+                    for (int i = 0; i < layer.length; i++) {
+                        layer[i] = buffer.getInt();
+                    }
+                }
+                index.upperLinks[node] = upperLinks;
+            }
+            index.size.set(size);
+            index.entryPoint = size == 0 ? null : new EntryPoint(entryPoint, index.upperLinks[entryPoint].length);
+            return index;
+        }
+    }
+
+    private static void ensureRemaining(ByteBuffer buffer, FileChannel channel, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain(buffer, channel);
+        }
+        if (buffer.remaining() < bytes) {
+            throw new IllegalStateException("Node too large to be saved: " + bytes + " bytes");
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+
+        private int dimensions;
+        private int capacity;
+        private int m = 16;
+        private int efConstruction = 200;
+        private int efSearch = 64;
+        private Similarity similarity = Similarity.COSINE;
+        private int chunkBytes = ChunkedRows.DEFAULT_CHUNK_BYTES;
+
+        private Builder() {
+        }
+
+        public Builder dimensions(int dimensions) {
+            this.dimensions = dimensions;
+            return this;
+        }
+
+        /**
+         * @param capacity the maximum number of vectors in the index, memory is allocated upfront
+         */
+        public Builder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * @param m the number of links per node on the upper layers, twice as many on the bottom layer. Default: 16
+         */
+        public Builder m(int m) {
+            this.m = m;
+            return this;
+        }
+
+        /**
+         * @param efConstruction the number of candidates tracked when linking a new vector. Default: 200
+         */
+        public Builder efConstruction(int efConstruction) {
+            this.efConstruction = efConstruction;
+            return this;
+        }
+
+        /**
+         * @param efSearch the default number of candidates tracked when searching. Default: 64
+         */
+        public Builder efSearch(int efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        /**
+         * @param similarity Default: COSINE, in which case vectors are normalized when added
+         */
+        public Builder similarity(Similarity similarity) {
+            if (similarity == null) {
+                throw new IllegalArgumentException("similarity cannot be null");
+            }
+            this.similarity = similarity;
+            return this;
+        }
+
+        /**
+         * @param chunkBytes the maximum size of the chunks the vectors and links are kept in, for tests
+         */
+        Builder chunkBytes(int chunkBytes) {
+            this.chunkBytes = chunkBytes;
+            return this;
+        }
+
+        public HnswIndex build() {
+            return new HnswIndex(this);
+        }
+    }
+
+    /**
+     * Reads a file sequentially through mappings of up to the given size, as a single mapping cannot exceed 2 GiB.
+     */
+    private static class ChunkedMapping {
+
+        private final FileChannel channel;
+        private final long chunkBytes;
+        private long position; // of the start of the current mapping
+        private ByteBuffer mapping;
+
+        ChunkedMapping(FileChannel channel, long position, long chunkBytes) {
+            this.channel = channel;
+            this.position = position;
+            this.chunkBytes = chunkBytes;
+        }
+
+        /**
+         * @return a little-endian buffer with at least the given number of bytes remaining, positioned at the next unread byte
+         */
+        ByteBuffer next(int bytes) throws IOException {
+            if (mapping == null || mapping.remaining() < bytes) {
+                if (mapping != null) {
+                    position += mapping.position();
+                }
+                long length = Math.min(Math.max(chunkBytes, bytes), channel.size() - position);
+                mapping = channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return mapping;
+        }
+    }
+
+    private static class EntryPoint {
+
+        private final int node;
+        private final int layer;
+
+        EntryPoint(int node, int layer) {
+            this.node = node;
+            this.layer = layer;
+        }
+    }
+
+    /**
+     * Marks visited nodes with the number of the current search, so that it does not need to be reset.
+     * Pooled by the index rather than kept per thread, so that it is released with the index.
+     */
+    private static class VisitedNodes {
+
+        private final int[] marks;
+        private int generation;
+
+        VisitedNodes(int capacity) {
+            this.marks = new int[capacity];
+        }
+
+        void clear() {
+            if (++generation == 0) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        /**
+         * @return false if the node was already visited
+         */
+        boolean add(int node) {
+            if (marks[node] == generation) {
+                return false;
+            }
+            marks[node] = generation;
+            return true;
+        }
+    }
+}
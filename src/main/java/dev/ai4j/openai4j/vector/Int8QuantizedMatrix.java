@@ -0,0 +1,183 @@
+package dev.ai4j.openai4j.vector;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Store of vectors quantized to one signed byte per dimension, 4 times smaller than a {@link FloatMatrix}.
+ * The bytes are kept row after row in chunks of up to 64 MiB.
+ * <p>
+ * Each vector is scaled by its own largest absolute value, which is kept with its norm as two floats.
+ * Scores are computed with integer arithmetic and scaled back, so they are close to, but not exactly,
+ * the scores of the original vectors. Use {@link FloatMatrix#rescore(float[], List, int, Similarity)}
+ * on a larger number of candidates when exact ranking matters.
+ * <p>
+ * Searches can run concurrently with each other, but not with {@link #add(float[])}.
+ */
+public class Int8QuantizedMatrix {
+
+    private final int dimensions;
+    private final ByteRows data;
+    private float[] scales;
+    private float[] norms;
+    private int rows;
+
+    public Int8QuantizedMatrix(int dimensions) {
+        this(dimensions, 1024);
+    }
+
+    public Int8QuantizedMatrix(int dimensions, int initialCapacity) {
+        this(dimensions, initialCapacity, ChunkedRows.DEFAULT_CHUNK_BYTES);
+    }
+
+    Int8QuantizedMatrix(int dimensions, int initialCapacity, int chunkBytes) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("dimensions must be positive");
+        }
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity cannot be negative");
+        }
+        this.dimensions = dimensions;
+        this.data = new ByteRows(dimensions, Math.max(1, initialCapacity), chunkBytes);
+        this.scales = new float[Math.max(1, initialCapacity)];
+        this.norms = new float[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * @return the index of the added row
+     */
+    public int add(float[] vector) {
+        checkDimensions(vector.length);
+        if (rows == scales.length) {
+            int capacity = Math.max(scales.length + 1, scales.length + (scales.length >> 1));
+            data.ensureCapacity(capacity);
+            scales = Arrays.copyOf(scales, capacity);
+            norms = Arrays.copyOf(norms, capacity);
+        }
+        int row = rows++;
+        scales[row] = quantize(vector, data.chunk(row), data.offset(row));
+        norms[row] = VectorMath.norm(vector);
+        return row;
+    }
+
+    /**
+     * @return the index of the added row
+     */
+    public int add(Embedding embedding) {
+        return add(embedding.vector());
+    }
+
+    /**
+     * Quantizes a vector to <code>target[offset, offset + vector.length)</code>.
+     *
+     * @return the scale of the quantized values: <code>vector[i] ≈ target[offset + i] * scale</code>
+     */
+    public static float quantize(float[] vector, byte[] target, int offset) {
+        float max = 0;
+        for (float value : vector) {
+            max = Math.max(max, Math.abs(value));
+        }
+        if (max == 0) {
+            Arrays.fill(target, offset, offset + vector.length, (byte) 0);
+            return 0;
+        }
+        float inverseScale = 127 / max;
+        for (int i = 0; i < vector.length; i++) {
+            target[offset + i] = (byte) Math.round(vector[i] * inverseScale);
+        }
+        return max / 127;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * @return the dequantized row
+     */
+    public float[] row(int row) {
+        checkRow(row);
+        byte[] chunk = data.chunk(row);
+        int offset = data.offset(row);
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = chunk[offset + i] * scales[row];
+        }
+        return vector;
+    }
+
+    /**
+     * @return the k rows most similar to the query, best first, according to the quantized vectors
+     */
+    public List<SearchHit> search(float[] query, int k, Similarity similarity) {
+        checkDimensions(query.length);
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        Query quantized = new Query(query);
+        TopK topK = new TopK(Math.max(1, Math.min(k, rows)));
+        for (int row = 0; row < rows; row++) {
+            topK.offer(row, score(quantized, row, similarity));
+        }
+        return topK.hits();
+    }
+
+    /**
+     * Recomputes the scores of candidates found in a coarser store, such as a {@link BinaryQuantizedMatrix}.
+     *
+     * @return the k best candidates, best first
+     */
+    public List<SearchHit> rescore(float[] query, List<SearchHit> candidates, int k, Similarity similarity) {
+        checkDimensions(query.length);
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        Query quantized = new Query(query);
+        TopK topK = new TopK(Math.max(1, Math.min(k, candidates.size())));
+        for (SearchHit candidate : candidates) {
+            checkRow(candidate.index());
+            topK.offer(candidate.index(), score(quantized, candidate.index(), similarity));
+        }
+        return topK.hits();
+    }
+
+    private float score(Query query, int row, Similarity similarity) {
+        float dot = VectorMath.dot(query.values, 0, data.chunk(row), data.offset(row), dimensions) * query.scale * scales[row];
+        if (similarity == Similarity.DOT_PRODUCT) {
+            return dot;
+        }
+        float norms = query.norm * this.norms[row];
+        return norms == 0 ? 0 : dot / norms;
+    }
+
+    private void checkDimensions(int dimensions) {
+        if (dimensions != this.dimensions) {
+            throw new IllegalArgumentException("Expected " + this.dimensions + " dimensions, got " + dimensions);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("row " + row);
+        }
+    }
+
+    private static class Query {
+
+        private final byte[] values;
+        private final float scale;
+        private final float norm;
+
+        Query(float[] query) {
+            this.values = new byte[query.length];
+            this.scale = quantize(query, values, 0);
+            this.norm = VectorMath.norm(query);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package dev.ai4j.openai4j.vector;
+
+import java.util.Arrays;
+
+/**
+ * Rows of longs with the same width, see {@link ChunkedRows}.
+ */
+final class LongRows extends ChunkedRows {
+
+    private long[][] chunks = new long[0][];
+
+    LongRows(int width, int initialCapacity, int chunkBytes) {
+        super(width, chunkBytes / Long.BYTES);
+        ensureCapacity(initialCapacity);
+    }
+
+    long[] chunk(int row) {
+        return chunks[row >>> chunkShift];
+    }
+
+    @Override
+    void allocate(int chunks, int chunkLength) {
+        if (chunks > this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, chunks);
+        }
+        for (int i = 0; i < chunks; i++) {
+            if (this.chunks[i] == null) {
+                this.chunks[i] = new long[chunkLength];
+            } else if (this.chunks[i].length < chunkLength) {
+                this.chunks[i] = Arrays.copyOf(this.chunks[i], chunkLength);
+            }
+        }
+    }
+}
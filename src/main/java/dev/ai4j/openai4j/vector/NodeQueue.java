@@ -0,0 +1,71 @@
+package dev.ai4j.openai4j.vector;
+
+import java.util.Arrays;
+
+/**
+ * Growable binary heap of (node, score) pairs, with the highest score on top.
+ */
+class NodeQueue {
+
+    private int[] nodes = new int[64];
+    private float[] scores = new float[64];
+    private int size;
+
+    void push(int node, float score) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            scores = Arrays.copyOf(scores, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] >= score) {
+                break;
+            }
+            nodes[i] = nodes[parent];
+            scores[i] = scores[parent];
+            i = parent;
+        }
+        nodes[i] = node;
+        scores[i] = score;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int topNode() {
+        return nodes[0];
+    }
+
+    float topScore() {
+        return scores[0];
+    }
+
+    void pop() {
+        int node = nodes[--size];
+        float score = scores[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[child + 1] > scores[child]) {
+                child++;
+            }
+            if (scores[child] <= score) {
+                break;
+            }
+            nodes[i] = nodes[child];
+            scores[i] = scores[child];
+            i = child;
+        }
+        nodes[i] = node;
+        scores[i] = score;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,52 @@
+package dev.ai4j.openai4j.vector;
+
+import java.util.Objects;
+
+public final class SearchHit {
+
+    private final int index;
+    private final float score;
+
+    public SearchHit(int index, float score) {
+        this.index = index;
+        this.score = score;
+    }
+
+    /**
+     * @return the index of the vector in the store it was found in
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * @return the similarity to the query, higher is more similar
+     */
+    public float score() {
+        return score;
+    }
+
+    @Override
+    public boolean equals(Object another) {
+        if (this == another) return true;
+        return another instanceof SearchHit
+                && index == ((SearchHit) another).index
+                && Float.compare(score, ((SearchHit) another).score) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 5381;
+        h += (h << 5) + index;
+        h += (h << 5) + Objects.hashCode(score);
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{"
+                + "index=" + index
+                + ", score=" + score
+                + "}";
+    }
+}
@@ -0,0 +1,11 @@
+package dev.ai4j.openai4j.vector;
+
+public enum Similarity {
+
+    /**
+     * Dot product. Equivalent to {@link #COSINE} for unit-length vectors, such as OpenAI embeddings, but cheaper.
+     */
+    DOT_PRODUCT,
+
+    COSINE
+}
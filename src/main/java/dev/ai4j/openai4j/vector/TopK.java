@@ -0,0 +1,114 @@
+package dev.ai4j.openai4j.vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the k highest scores seen so far, in a binary min-heap over primitive arrays.
+ */
+class TopK {
+
+    private static final Comparator<SearchHit> BEST_FIRST =
+            Comparator.comparingDouble(SearchHit::score).reversed().thenComparingInt(SearchHit::index);
+
+    private final int[] indices;
+    private final float[] scores;
+    private int size;
+
+    TopK(int k) {
+        this.indices = new int[k];
+        this.scores = new float[k];
+    }
+
+    /**
+     * @return true if the score made it into the top k
+     */
+    boolean offer(int index, float score) {
+        if (size < scores.length) {
+            indices[size] = index;
+            scores[size] = score;
+            siftUp(size++);
+            return true;
+        }
+        if (size == 0 || score <= scores[0]) {
+            return false;
+        }
+        indices[0] = index;
+        scores[0] = score;
+        siftDown(0);
+        return true;
+    }
+
+    boolean isFull() {
+        return size == scores.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the lowest score kept, only meaningful when {@link #isFull()}
+     */
+    float minScore() {
+        return scores[0];
+    }
+
+    void addAll(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.indices[i], other.scores[i]);
+        }
+    }
+
+    /**
+     * @return the kept hits, best first
+     */
+    List<SearchHit> hits() {
+        List<SearchHit> hits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hits.add(new SearchHit(indices[i], scores[i]));
+        }
+        hits.sort(BEST_FIRST);
+        return hits;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= scores[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
@@ -0,0 +1,112 @@
+package dev.ai4j.openai4j.vector;
+
+import java.util.Arrays;
+
+/**
+ * Similarity kernels over float vectors.
+ * <p>
+ * The loops are unrolled with independent accumulators, so that the JIT can keep several multiply-adds in flight.
+ */
+public final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    public static float dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Vectors must have the same dimensions, got " + a.length + " and " + b.length);
+        }
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * @return the dot product of <code>a[aOffset, aOffset + length)</code> and <code>b[bOffset, bOffset + length)</code>
+     */
+    public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (int upperBound = length & ~7; i < upperBound; i += 8) {
+            s0 += a[aOffset + i] * b[bOffset + i] + a[aOffset + i + 4] * b[bOffset + i + 4];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1] + a[aOffset + i + 5] * b[bOffset + i + 5];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2] + a[aOffset + i + 6] * b[bOffset + i + 6];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3] + a[aOffset + i + 7] * b[bOffset + i + 7];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * @return the dot product of <code>a[aOffset, aOffset + length)</code> and <code>b[bOffset, bOffset + length)</code>
+     */
+    public static int dot(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (int upperBound = length & ~3; i < upperBound; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * @return the number of differing bits between <code>a[aOffset, aOffset + words)</code>
+     * and <code>b[bOffset, bOffset + words)</code>
+     */
+    public static int hamming(long[] a, int aOffset, long[] b, int bOffset, int words) {
+        int distance = 0;
+        for (int i = 0; i < words; i++) {
+            distance += Long.bitCount(a[aOffset + i] ^ b[bOffset + i]);
+        }
+        return distance;
+    }
+
+    public static float cosine(float[] a, float[] b) {
+        float norms = norm(a) * norm(b);
+        return norms == 0 ? 0 : dot(a, b) / norms;
+    }
+
+    public static float norm(float[] vector) {
+        return norm(vector, 0, vector.length);
+    }
+
+    public static float norm(float[] vector, int offset, int length) {
+        return (float) Math.sqrt(dot(vector, offset, vector, offset, length));
+    }
+
+    /**
+     * Keeps the first dimensions of a vector and scales them back to unit length. For embeddings trained
+     * with Matryoshka representation learning (such as <code>text-embedding-3-*</code>), this gives the same
+     * vector as requesting fewer dimensions with <code>EmbeddingRequest.dimensions</code>.
+     *
+     * @return a new vector
+     */
+    public static float[] truncate(float[] vector, int dimensions) {
+        if (dimensions <= 0 || dimensions > vector.length) {
+            throw new IllegalArgumentException("dimensions must be between 1 and " + vector.length);
+        }
+        return normalize(Arrays.copyOf(vector, dimensions));
+    }
+
+    /**
+     * Scales the vector to unit length, in place. A zero vector is left unchanged.
+     *
+     * @return the given vector
+     */
+    public static float[] normalize(float[] vector) {
+        float norm = norm(vector);
+        if (norm != 0) {
+            float inverse = 1 / norm;
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inverse;
+            }
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,156 @@
+package dev.ai4j.openai4j;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncRequestExecutorTest {
+
+    private static final String CHAT_COMPLETION_RESPONSE = "{\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"Hello world\"}}]}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final ExecutorService callbackExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "callback-thread"));
+
+    @BeforeEach
+    void start() throws IOException {
+        server.start();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        server.shutdown();
+        callbackExecutor.shutdown();
+    }
+
+    @Test
+    void should_not_block_caller_and_invoke_callbacks_on_callback_executor() throws Exception {
+
+        // given
+        server.enqueue(new MockResponse()
+                .setBody(CHAT_COMPLETION_RESPONSE)
+                .setHeadersDelay(500, MILLISECONDS));
+
+        OpenAiClient client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .callbackExecutor(callbackExecutor)
+                .build();
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> callbackThread = new CompletableFuture<>();
+
+        // when
+        long start = System.nanoTime();
+        client.chatCompletion("hi")
+                .onResponse(response -> {
+                    callbackThread.complete(Thread.currentThread().getName());
+                    future.complete(response);
+                })
+                .onError(future::completeExceptionally)
+                .execute();
+        long elapsedMillis = MILLISECONDS.convert(System.nanoTime() - start, NANOSECONDS);
+
+        // then
+        assertThat(elapsedMillis).isLessThan(500);
+        assertThat(future.get(10, SECONDS)).isEqualTo("Hello world");
+        assertThat(callbackThread.get()).isEqualTo("callback-thread");
+
+        client.shutdown();
+    }
+
+    @Test
+    void should_pass_http_error_to_error_handler() throws Exception {
+
+        // given
+        server.enqueue(new MockResponse().setResponseCode(429).setBody("rate limited"));
+
+        OpenAiClient client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .build();
+
+        CompletableFuture<Throwable> future = new CompletableFuture<>();
+
+        // when
+        client.chatCompletion("hi")
+                .onResponse(response -> future.completeExceptionally(new AssertionError("unexpected response")))
+                .onError(future::complete)
+                .execute();
+
+        // then
+        Throwable error = future.get(10, SECONDS);
+        assertThat(error).isInstanceOf(OpenAiHttpException.class);
+        assertThat(((OpenAiHttpException) error).code()).isEqualTo(429);
+        assertThat(error).hasMessage("rate limited");
+
+        client.shutdown();
+    }
+
+    @Test
+    void should_complete_future_without_blocking_caller() throws Exception {
+
+        // given
+        server.enqueue(new MockResponse()
+                .setBody(CHAT_COMPLETION_RESPONSE)
+                .setHeadersDelay(500, MILLISECONDS));
+
+        OpenAiClient client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .build();
+
+        // when
+        CompletableFuture<String> future = client.chatCompletion("hi").executeAsync();
+
+        // then
+        assertThat(future).isNotDone();
+        assertThat(future.get(10, SECONDS)).isEqualTo("Hello world");
+
+        client.shutdown();
+    }
+
+    @Test
+    void should_abort_call_immediately_when_cancelled() throws Exception {
+
+        // given
+        server.enqueue(new MockResponse()
+                .setBody(CHAT_COMPLETION_RESPONSE)
+                .setHeadersDelay(3, SECONDS));
+
+        OpenAiClient client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .build();
+
+        CompletableFuture<Object> callback = new CompletableFuture<>();
+
+        ResponseHandle responseHandle = client.chatCompletion("hi")
+                .onResponse(callback::complete)
+                .onError(callback::complete)
+                .execute();
+
+        server.takeRequest(5, SECONDS);
+
+        // when
+        responseHandle.cancel();
+
+        // then
+        responseHandle.completion().toCompletableFuture().get(1, SECONDS);
+        assertThat(responseHandle.isCancelled()).isTrue();
+        assertThat(callback).isNotDone();
+
+        client.shutdown();
+    }
+}
@@ -0,0 +1,156 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.embedding.BulkEmbeddingOptions;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkEmbedderTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private final List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger rateLimitedResponses = new AtomicInteger();
+    private final AtomicInteger truncatedResponses = new AtomicInteger();
+
+    private OpenAiClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        // returns embeddings in reverse order, with the input length as the only dimension
+        server.setDispatcher(new Dispatcher() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public MockResponse dispatch(RecordedRequest recordedRequest) {
+                if (rateLimitedResponses.getAndDecrement() > 0) {
+                    return new MockResponse().setResponseCode(429).setBody("{\"error\": \"rate limited\"}");
+                }
+                List<String> inputs = (List<String>) Json.fromJson(recordedRequest.getBody().readUtf8(), Map.class).get("input");
+                if (truncatedResponses.getAndDecrement() > 0) {
+                    return new MockResponse()
+                            .setBody("{\"data\":[{\"index\":0,\"embedding\":[1]}],\"usage\":{\"prompt_tokens\":10,\"total_tokens\":10}}")
+                            .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY);
+                }
+                requestSizes.add(inputs.size());
+                StringBuilder data = new StringBuilder();
+                for (int i = inputs.size() - 1; i >= 0; i--) {
+                    if (data.length() > 0) {
+                        data.append(',');
+                    }
+                    data.append("{\"index\":").append(i).append(",\"embedding\":[").append(inputs.get(i).length()).append("]}");
+                }
+                return new MockResponse()
+                        .setBody("{\"data\":[" + data + "],\"usage\":{\"prompt_tokens\":10,\"total_tokens\":10}}")
+                        .setBodyDelay(inputs.size() == 1 ? 0 : 100, MILLISECONDS);
+            }
+        });
+        server.start();
+
+        client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .build();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        client.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void should_pack_inputs_and_keep_output_order() {
+
+        // given
+        List<String> inputs = asList("a", "bb", "ccc", "dddd", "eeeee", "ffffff", "g");
+        BulkEmbeddingOptions options = BulkEmbeddingOptions.builder()
+                .maxInputsPerRequest(3)
+                .maxInFlightRequests(2)
+                .build();
+        List<Integer> indices = new ArrayList<>();
+        List<Float> values = new ArrayList<>();
+
+        // when
+        long tokens = client.embedAll(inputs.iterator(), options, (index, vector) -> {
+            indices.add(index);
+            values.add(vector[0]);
+        });
+
+        // then
+        assertThat(indices).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(values).containsExactly(1f, 2f, 3f, 4f, 5f, 6f, 1f);
+        assertThat(requestSizes).containsExactlyInAnyOrder(3, 3, 1);
+        assertThat(tokens).isEqualTo(30);
+    }
+
+    @Test
+    void should_respect_token_limit() {
+
+        // given
+        BulkEmbeddingOptions options = BulkEmbeddingOptions.builder()
+                .maxTokensPerRequest(5)
+                .tokenEstimator(String::length)
+                .build();
+        List<Integer> indices = new ArrayList<>();
+
+        // when
+        client.embedAll(asList("aa", "bb", "cc", "dddddddd").iterator(), options, (index, vector) -> indices.add(index));
+
+        // then
+        assertThat(indices).containsExactly(0, 1, 2, 3);
+        assertThat(requestSizes).containsExactlyInAnyOrder(2, 1, 1);
+    }
+
+    @Test
+    void should_retry_rate_limited_requests() {
+
+        // given
+        rateLimitedResponses.set(1);
+        BulkEmbeddingOptions options = BulkEmbeddingOptions.builder()
+                .initialRetryDelay(Duration.ofMillis(10))
+                .build();
+        List<Integer> indices = new ArrayList<>();
+
+        // when
+        client.embedAll(asList("a", "b").iterator(), options, (index, vector) -> indices.add(index));
+
+        // then
+        assertThat(indices).containsExactly(0, 1);
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void should_retry_requests_whose_response_body_is_cut() {
+
+        // given
+        truncatedResponses.set(1);
+        BulkEmbeddingOptions options = BulkEmbeddingOptions.builder()
+                .initialRetryDelay(Duration.ofMillis(10))
+                .build();
+        List<Integer> indices = new ArrayList<>();
+
+        // when
+        client.embedAll(asList("a", "b").iterator(), options, (index, vector) -> indices.add(index));
+
+        // then
+        assertThat(indices).containsExactly(0, 1);
+        assertThat(server.getRequestCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,138 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+import dev.ai4j.openai4j.embedding.EmbeddingRequest;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import dev.ai4j.openai4j.embedding.InMemoryEmbeddingCache;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingEmbedderTest {
+
+    private final MockWebServer server = new MockWebServer();
+    private final List<List<String>> sentInputs = new CopyOnWriteArrayList<>();
+
+    private OpenAiClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        // returns the input length as the only dimension
+        server.setDispatcher(new Dispatcher() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public MockResponse dispatch(RecordedRequest recordedRequest) {
+                List<String> inputs = (List<String>) Json.fromJson(recordedRequest.getBody().readUtf8(), Map.class).get("input");
+                sentInputs.add(inputs);
+                StringBuilder data = new StringBuilder();
+                for (int i = 0; i < inputs.size(); i++) {
+                    if (data.length() > 0) {
+                        data.append(',');
+                    }
+                    data.append("{\"index\":").append(i).append(",\"embedding\":[").append(inputs.get(i).length()).append("]}");
+                }
+                return new MockResponse().setBody("{\"data\":[" + data + "],\"usage\":{\"prompt_tokens\":1,\"total_tokens\":1}}");
+            }
+        });
+        server.start();
+
+        client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .embeddingCache(new InMemoryEmbeddingCache(100))
+                .build();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        client.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void should_send_only_distinct_missing_inputs_and_keep_order() {
+
+        // given
+        client.embedding(EmbeddingRequest.builder().input("bb").build()).execute();
+
+        // when
+        EmbeddingResponse response = client.embedding(EmbeddingRequest.builder()
+                .input("a", "bb", "ccc", "a", "bb")
+                .build()).execute();
+
+        // then
+        assertThat(sentInputs).containsExactly(
+                singletonList("bb"),
+                asList("a", "ccc")
+        );
+        assertThat(response.data().stream().map(Embedding::index).collect(toList())).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.data().stream().map(embedding -> embedding.embedding().get(0)).collect(toList()))
+                .containsExactly(1f, 2f, 3f, 1f, 2f);
+    }
+
+    @Test
+    void should_not_send_request_when_all_inputs_are_cached() {
+
+        // given
+        client.embedding("hello").execute();
+
+        // when
+        List<Float> embedding = client.embedding("hello").execute();
+        EmbeddingResponse response = client.embedding(EmbeddingRequest.builder().input("hello", "hello").build()).execute();
+
+        // then
+        assertThat(embedding).containsExactly(5f);
+        assertThat(response.data()).hasSize(2);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_consult_cache_when_executed() {
+
+        // given
+        SyncOrAsync<EmbeddingResponse> first = client.embedding(EmbeddingRequest.builder().input("a", "bb").build());
+        SyncOrAsync<List<Float>> second = client.embedding("a");
+
+        // when
+        first.execute();
+        first.execute();
+        second.execute();
+
+        // then
+        assertThat(sentInputs).containsExactly(asList("a", "bb"));
+    }
+
+    @Test
+    void should_cancel_request_when_response_is_cancelled() {
+
+        // given
+        CompletableFuture<EmbeddingResponse> sent = new CompletableFuture<>();
+        CachingEmbedder embedder = new CachingEmbedder(new InMemoryEmbeddingCache(100));
+        CompletableFuture<EmbeddingResponse> response = embedder.embedding(
+                EmbeddingRequest.builder().input("a").build(),
+                request -> new FutureSyncOrAsync<>(() -> sent)
+        ).executeAsync();
+
+        // when
+        response.cancel(true);
+
+        // then
+        assertThat(sent).isCancelled();
+    }
+}
@@ -0,0 +1,96 @@
+package dev.ai4j.openai4j;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingBatcherTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    @BeforeEach
+    void start() throws IOException {
+        // returns embeddings in reverse order, with the input length as the only dimension
+        server.setDispatcher(new Dispatcher() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public MockResponse dispatch(RecordedRequest recordedRequest) {
+                List<String> inputs = (List<String>) Json.fromJson(recordedRequest.getBody().readUtf8(), Map.class).get("input");
+                StringBuilder data = new StringBuilder();
+                for (int i = inputs.size() - 1; i >= 0; i--) {
+                    if (data.length() > 0) {
+                        data.append(',');
+                    }
+                    data.append("{\"index\":").append(i).append(",\"embedding\":[").append(inputs.get(i).length()).append("]}");
+                }
+                return new MockResponse().setBody("{\"data\":[" + data + "]}");
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void should_batch_concurrent_calls_and_demultiplex_by_index() throws Exception {
+
+        // given
+        OpenAiClient client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .embeddingBatchingMaxDelay(Duration.ofMillis(200))
+                .build();
+
+        // when
+        List<CompletableFuture<List<Float>>> futures = new ArrayList<>();
+        for (String input : new String[]{"a", "bb", "ccc"}) {
+            futures.add(client.embedding(input).executeAsync());
+        }
+
+        // then
+        assertThat(futures.get(0).get(5, SECONDS)).containsExactly(1f);
+        assertThat(futures.get(1).get(5, SECONDS)).containsExactly(2f);
+        assertThat(futures.get(2).get(5, SECONDS)).containsExactly(3f);
+        assertThat(server.getRequestCount()).isEqualTo(1);
+
+        client.shutdown();
+    }
+
+    @Test
+    void should_send_batch_as_soon_as_it_is_full() {
+
+        // given
+        OpenAiClient client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .embeddingBatchingMaxDelay(Duration.ofSeconds(30))
+                .embeddingBatchingMaxSize(1)
+                .build();
+
+        // when
+        List<Float> embedding = client.embedding("abcd").execute();
+
+        // then
+        assertThat(embedding).containsExactly(4f);
+
+        client.shutdown();
+    }
+}
@@ -0,0 +1,86 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.embedding.EmbeddingRequest;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddingResponseReaderTest {
+
+    private static final String RESPONSE = "{\"object\": \"list\", \"data\": [" +
+            "{\"object\": \"embedding\", \"index\": 0, \"embedding\": [0.5, -1]}," +
+            "{\"embedding\": \"AACAPwAAAEA=\", \"index\": 1, \"object\": \"embedding\"}" +
+            "], \"model\": \"text-embedding-3-small\", \"usage\": {\"prompt_tokens\": 4, \"total_tokens\": 4}}";
+
+    @Test
+    void should_hand_over_each_vector_and_return_model_and_usage() throws IOException {
+
+        // given
+        List<Integer> indices = new ArrayList<>();
+        List<float[]> vectors = new ArrayList<>();
+
+        // when
+        EmbeddingResponse response = EmbeddingResponseReader.read(new ByteArrayInputStream(RESPONSE.getBytes(UTF_8)),
+                (index, vector) -> {
+                    indices.add(index);
+                    vectors.add(vector);
+                });
+
+        // then
+        assertThat(indices).containsExactly(0, 1);
+        assertThat(vectors.get(0)).containsExactly(0.5f, -1f);
+        assertThat(vectors.get(1)).containsExactly(1f, 2f);
+        assertThat(response.model()).isEqualTo("text-embedding-3-small");
+        assertThat(response.usage().totalTokens()).isEqualTo(4);
+        assertThat(response.data()).isNull();
+    }
+
+    @Test
+    void should_fail_on_embedding_without_index() {
+
+        // given
+        String json = "{\"data\": [{\"embedding\": [0.5]}]}";
+
+        // when-then
+        assertThatThrownBy(() -> EmbeddingResponseReader.read(new ByteArrayInputStream(json.getBytes(UTF_8)), (index, vector) -> {
+        })).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void should_stream_vectors_from_client() throws IOException {
+
+        // given
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody(RESPONSE));
+        server.start();
+        try {
+            OpenAiClient client = OpenAiClient.builder()
+                    .baseUrl(server.url("/v1/").toString())
+                    .openAiApiKey("test")
+                    .build();
+            List<Integer> indices = new ArrayList<>();
+
+            // when
+            EmbeddingResponse response = client.embedding(
+                    EmbeddingRequest.builder().input("a", "b").build(),
+                    (index, vector) -> indices.add(index)
+            ).execute();
+
+            // then
+            assertThat(indices).containsExactly(0, 1);
+            assertThat(response.usage().promptTokens()).isEqualTo(4);
+        } finally {
+            server.shutdown();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package dev.ai4j.openai4j;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ai4j.openai4j.chat.ChatCompletionRequest;
+import dev.ai4j.openai4j.chat.ChatCompletionResponse;
+import dev.ai4j.openai4j.chat.Function;
+import dev.ai4j.openai4j.chat.JsonObjectSchema;
+import dev.ai4j.openai4j.chat.JsonStringSchema;
+import dev.ai4j.openai4j.chat.Tool;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import dev.ai4j.openai4j.spi.JsonCodec;
+import dev.ai4j.openai4j.spi.JsonCodecFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+
+/**
+ * Shared benchmark of the {@link JsonCodec} implementations, on the payloads of the hot paths:
+ * a chat completion request, a streamed chunk, a complete chat completion response and a batch of embeddings.
+ * <p>
+ * The codec is given by the name of a {@link JsonCodec} or {@link JsonCodecFactory} class. Before being measured,
+ * it is checked to produce and read the same JSON as Jackson with the annotations of the model classes,
+ * and the benchmark fails if it does not.
+ * <p>
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=dev.ai4j.openai4j.JsonCodecBenchmark</code>
+ * or, for another codec on the test classpath, with <code>-p codec=com.example.MyJsonCodecFactory</code> from the JMH command line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final String CHUNK = "{\"id\":\"chatcmpl-AZ3eVpDnWh5Ra7ZgqPqYbvqM9iS3u\",\"object\":\"chat.completion.chunk\","
+            + "\"created\":1733000000,\"model\":\"gpt-4o-mini-2024-07-18\",\"system_fingerprint\":\"fp_0705bf87c0\","
+            + "\"choices\":[{\"index\":0,\"delta\":{\"content\":\" weather\"},\"logprobs\":null,\"finish_reason\":null}]}";
+
+    @Param({"dev.ai4j.openai4j.JacksonJsonCodec"})
+    String codec;
+
+    JsonCodec jsonCodec;
+    ChatCompletionRequest request;
+    byte[] chunk;
+    byte[] response;
+    byte[] embeddings;
+
+    @Setup
+    public void setUp() throws Exception {
+        Object instance = Class.forName(codec).getDeclaredConstructor().newInstance();
+        jsonCodec = instance instanceof JsonCodecFactory ? ((JsonCodecFactory) instance).get() : (JsonCodec) instance;
+
+        ChatCompletionRequest.Builder builder = ChatCompletionRequest.builder()
+                .model("gpt-4o-mini")
+                .temperature(0.7)
+                .stream(true)
+                .addSystemMessage("You are a helpful assistant.")
+                .tools(Tool.from(Function.builder()
+                        .name("get_weather")
+                        .description("Returns the current weather in the given city")
+                        .parameters(JsonObjectSchema.builder()
+                                .properties(singletonMap("city", JsonStringSchema.builder().build()))
+                                .required(singletonList("city"))
+                                .build())
+                        .build()));
+        for (int i = 0; i < 10; i++) {
+            builder.addUserMessage("What is the weather like in city number " + i + " today?");
+            builder.addAssistantMessage("The weather in city number " + i + " is sunny.");
+        }
+        request = builder.build();
+        chunk = CHUNK.getBytes(UTF_8);
+        try (InputStream inputStream = getClass().getResourceAsStream("/ChatCompletionResponse.json")) {
+            response = readAll(inputStream);
+        }
+        embeddings = embeddingsJson(16, 1536);
+
+        validate();
+    }
+
+    private void validate() throws IOException {
+        ObjectMapper reference = new ObjectMapper();
+        if (!reference.readTree(jsonCodec.toJsonBytes(request)).equals(reference.valueToTree(request))) {
+            throw new IllegalStateException(codec + " does not write chat completion requests as expected");
+        }
+        if (!readChunk().equals(reference.readValue(chunk, ChatCompletionResponse.class))
+                || !readResponse().equals(reference.readValue(response, ChatCompletionResponse.class))
+                || !readEmbeddings().equals(reference.readValue(embeddings, EmbeddingResponse.class))) {
+            throw new IllegalStateException(codec + " does not read responses as expected");
+        }
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws IOException {
+        return jsonCodec.toJsonBytes(request);
+    }
+
+    @Benchmark
+    public ChatCompletionResponse readChunk() throws IOException {
+        return jsonCodec.fromJson(chunk, 0, chunk.length, ChatCompletionResponse.class);
+    }
+
+    @Benchmark
+    public ChatCompletionResponse readResponse() throws IOException {
+        return jsonCodec.fromJson(new ByteArrayInputStream(response), ChatCompletionResponse.class);
+    }
+
+    @Benchmark
+    public EmbeddingResponse readEmbeddings() throws IOException {
+        return jsonCodec.fromJson(new ByteArrayInputStream(embeddings), EmbeddingResponse.class);
+    }
+
+    private static byte[] embeddingsJson(int count, int dimensions) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder("{\"object\":\"list\",\"data\":[");
+        for (int i = 0; i < count; i++) {
+            json.append(i > 0 ? "," : "").append("{\"object\":\"embedding\",\"index\":").append(i).append(",\"embedding\":[");
+            for (int j = 0; j < dimensions; j++) {
+                json.append(j > 0 ? "," : "").append(random.nextFloat() - 0.5f);
+            }
+            json.append("]}");
+        }
+        json.append("],\"model\":\"text-embedding-3-small\",\"usage\":{\"prompt_tokens\":64,\"total_tokens\":64}}");
+        return json.toString().getBytes(UTF_8);
+    }
+
+    private static byte[] readAll(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonCodecBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
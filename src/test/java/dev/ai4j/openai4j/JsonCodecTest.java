@@ -0,0 +1,150 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.chat.ChatCompletionRequest;
+import dev.ai4j.openai4j.chat.ChatCompletionResponse;
+import dev.ai4j.openai4j.spi.JsonCodec;
+import dev.ai4j.openai4j.spi.JsonCodecFactory;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import retrofit2.Retrofit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonCodecTest {
+
+    @Test
+    void should_load_codec_registered_as_service(@TempDir Path directory) throws IOException {
+
+        // given
+        Path services = Files.createDirectories(directory.resolve("META-INF/services"));
+        Files.write(services.resolve(JsonCodecFactory.class.getName()), RecordingJsonCodecFactory.class.getName().getBytes(UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{directory.toUri().toURL()}, getClass().getClassLoader())) {
+
+            // when
+            JsonCodec codec = Json.loadCodec(classLoader);
+
+            // then
+            assertThat(codec).isInstanceOf(RecordingJsonCodec.class);
+        }
+    }
+
+    @Test
+    void should_fall_back_to_jackson() {
+
+        assertThat(Json.loadCodec(getClass().getClassLoader())).isInstanceOf(JacksonJsonCodec.class);
+        assertThat(Json.codec()).isInstanceOf(JacksonJsonCodec.class);
+    }
+
+    @Test
+    void should_convert_sync_request_and_response_with_codec() throws Exception {
+
+        // given
+        RecordingJsonCodec codec = new RecordingJsonCodec();
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setBody("{\"id\":\"chatcmpl-1\",\"choices\":[{\"index\":0,"
+                    + "\"message\":{\"role\":\"assistant\",\"content\":\"Hi\"},\"finish_reason\":\"stop\"}]}"));
+            OpenAiApi api = new Retrofit.Builder()
+                    .baseUrl(server.url("/v1/"))
+                    .addConverterFactory(new JsonCodecConverterFactory(codec))
+                    .build()
+                    .create(OpenAiApi.class);
+            ChatCompletionRequest request = ChatCompletionRequest.builder()
+                    .model("gpt-4o-mini")
+                    .addUserMessage("Hello")
+                    .build();
+
+            // when
+            ChatCompletionResponse response = api.chatCompletions(request, null).execute().body();
+
+            // then
+            RecordedRequest recordedRequest = server.takeRequest();
+            assertThat(Json.fromJson(recordedRequest.getBody().readUtf8(), Map.class))
+                    .isEqualTo(Json.fromJson(Json.toJson(request), Map.class));
+            assertThat(recordedRequest.getHeader("Content-Type")).startsWith("application/json");
+            assertThat(response.content()).isEqualTo("Hi");
+            assertThat(codec.written).containsExactly(request);
+            assertThat(codec.read).containsExactly(ChatCompletionResponse.class);
+        }
+    }
+
+    @Test
+    void should_leave_streams_open() throws IOException {
+
+        // given
+        JsonCodec codec = new JacksonJsonCodec();
+        CloseRecordingOutputStream outputStream = new CloseRecordingOutputStream();
+
+        // when
+        codec.toJson(ChatCompletionRequest.builder().addUserMessage("Hello").build(), outputStream);
+
+        // then
+        assertThat(outputStream.closed).isFalse();
+        assertThat(codec.fromJson(new String(outputStream.bytes.toByteArray(), UTF_8), Map.class)).containsKey("messages");
+    }
+
+    public static class RecordingJsonCodecFactory implements JsonCodecFactory {
+
+        @Override
+        public JsonCodec get() {
+            return new RecordingJsonCodec();
+        }
+    }
+
+    static class RecordingJsonCodec implements JsonCodec {
+
+        private final JsonCodec delegate = new JacksonJsonCodec();
+        final List<Object> written = new CopyOnWriteArrayList<>();
+        final List<Class<?>> read = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void toJson(Object value, OutputStream outputStream) throws IOException {
+            written.add(value);
+            delegate.toJson(value, outputStream);
+        }
+
+        @Override
+        public <T> T fromJson(byte[] json, int offset, int length, Class<T> type) throws IOException {
+            read.add(type);
+            return delegate.fromJson(json, offset, length, type);
+        }
+
+        @Override
+        public <T> T fromJson(InputStream inputStream, Class<T> type) throws IOException {
+            read.add(type);
+            return delegate.fromJson(inputStream, type);
+        }
+    }
+
+    private static class CloseRecordingOutputStream extends OutputStream {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        boolean closed;
+
+        @Override
+        public void write(int b) {
+            bytes.write(b);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package dev.ai4j.openai4j;
+
+import dev.ai4j.openai4j.chat.ChatCompletionRequest;
+import dev.ai4j.openai4j.chat.PreparedChatTemplate;
+import dev.ai4j.openai4j.chat.UserMessage;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonRequestBodyTest {
+
+    @Test
+    void should_write_same_json_on_every_write() throws IOException {
+
+        // given
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model("gpt-4o-mini")
+                .addUserMessage("Hello")
+                .build();
+        JsonRequestBody body = new JsonRequestBody(request, true);
+
+        // when
+        Buffer first = new Buffer();
+        body.writeTo(first);
+        first.writeUtf8("\n"); // the sink is left open
+        Buffer second = new Buffer();
+        body.writeTo(second);
+        Buffer third = new Buffer();
+        body.writeTo(third);
+
+        // then
+        String json = Json.toJson(request);
+        assertThat(first.readUtf8()).isEqualTo(json + "\n");
+        assertThat(second.readUtf8()).isEqualTo(json);
+        assertThat(third.readUtf8()).isEqualTo(json);
+        assertThat(body.contentType().toString()).isEqualTo("application/json; charset=utf-8");
+        assertThat(body.contentLength()).isEqualTo(-1);
+    }
+
+    @Test
+    void should_write_request_with_its_prepared_template() throws IOException {
+
+        // given
+        PreparedChatTemplate template = PreparedChatTemplate.from(ChatCompletionRequest.builder()
+                .model("gpt-4o-mini")
+                .addSystemMessage("Be brief")
+                .build());
+        ChatCompletionRequest request = template.request(UserMessage.from("Hello"));
+        JsonRequestBody body = new JsonRequestBody(request, true);
+
+        // when
+        Buffer first = new Buffer();
+        body.writeTo(first);
+        Buffer second = new Buffer();
+        body.writeTo(second);
+
+        // then
+        String json = new String(template.toJson(request), UTF_8);
+        assertThat(first.readUtf8()).isEqualTo(json);
+        assertThat(second.readUtf8()).isEqualTo(json);
+        assertThat(Json.fromJson(json, Map.class)).isEqualTo(Json.fromJson(Json.toJson(request), Map.class));
+    }
+
+    @Test
+    void should_know_length_when_not_chunked() throws IOException {
+
+        // given
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model("gpt-4o-mini")
+                .addUserMessage("Hellö")
+                .build();
+        JsonRequestBody body = new JsonRequestBody(request, false);
+
+        // when
+        long contentLength = body.contentLength();
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+
+        // then
+        assertThat(buffer.size()).isEqualTo(contentLength);
+        assertThat(buffer.readUtf8()).isEqualTo(Json.toJson(request));
+    }
+}
@@ -0,0 +1,119 @@
+package dev.ai4j.openai4j;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.ai4j.openai4j.chat.ChatCompletionRequest;
+import dev.ai4j.openai4j.chat.Function;
+import dev.ai4j.openai4j.chat.JsonObjectSchema;
+import dev.ai4j.openai4j.chat.JsonSchemaElement;
+import dev.ai4j.openai4j.chat.JsonStringSchema;
+import dev.ai4j.openai4j.chat.PreparedChatTemplate;
+import dev.ai4j.openai4j.chat.Tool;
+import dev.ai4j.openai4j.spi.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Compares serialization of a {@link ChatCompletionRequest} with a long history and many tools,
+ * pretty-printed (as the wire format used to be), compact with the default {@link JsonCodec},
+ * and compact with the tools and the system message pre-serialized in a {@link PreparedChatTemplate}.
+ * <p>
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=dev.ai4j.openai4j.JsonSerializationBenchmark</code>
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50"})
+    int messages;
+
+    @Param({"50"})
+    int tools;
+
+    ObjectMapper prettyMapper;
+    JsonCodec codec;
+    ChatCompletionRequest request;
+    PreparedChatTemplate template;
+    ChatCompletionRequest preparedRequest;
+
+    @Setup
+    public void setUp() {
+        prettyMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        codec = new JacksonJsonCodec();
+
+        ChatCompletionRequest.Builder builder = ChatCompletionRequest.builder()
+                .model("gpt-4o-mini")
+                .addSystemMessage("You are a helpful assistant. Answer concisely and use the tools when needed.");
+        for (int i = 0; i < messages; i++) {
+            builder.addUserMessage("What is the weather like in city number " + i + " today?");
+            builder.addAssistantMessage("The weather in city number " + i + " is sunny, with a high of 25 degrees.");
+        }
+        List<Tool> toolList = new ArrayList<>();
+        for (int i = 0; i < tools; i++) {
+            Map<String, JsonSchemaElement> properties = new LinkedHashMap<>();
+            properties.put("city", JsonStringSchema.builder().description("The name of the city").build());
+            properties.put("unit", JsonStringSchema.builder().description("celsius or fahrenheit").build());
+            toolList.add(Tool.from(Function.builder()
+                    .name("get_weather_" + i)
+                    .description("Returns the current weather in the given city")
+                    .parameters(JsonObjectSchema.builder()
+                            .properties(properties)
+                            .required(singletonList("city"))
+                            .build())
+                    .build()));
+        }
+        request = builder.tools(toolList).build();
+
+        template = PreparedChatTemplate.from(ChatCompletionRequest.builder()
+                .from(request)
+                .messages(request.messages().subList(0, 1))
+                .build());
+        preparedRequest = template.request(request.messages().subList(1, request.messages().size()));
+    }
+
+    @Benchmark
+    public byte[] pretty() throws JsonProcessingException {
+        return prettyMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] compact() throws IOException {
+        return codec.toJsonBytes(request);
+    }
+
+    @Benchmark
+    public byte[] prepared() {
+        return template.toJson(preparedRequest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
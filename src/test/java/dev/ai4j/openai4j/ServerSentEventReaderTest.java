@@ -0,0 +1,79 @@
+package dev.ai4j.openai4j;
+
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerSentEventReaderTest {
+
+    @Test
+    void should_read_data_of_each_event() throws IOException {
+
+        assertThat(read("data: {\"a\":1}\n\ndata: {\"b\":2}\n\n"))
+                .containsExactly("{\"a\":1}", "{\"b\":2}");
+    }
+
+    @Test
+    void should_support_all_line_endings() throws IOException {
+
+        assertThat(read("data: one\r\n\r\ndata: two\r\rdata: three\n\n"))
+                .containsExactly("one", "two", "three");
+    }
+
+    @Test
+    void should_join_multiple_data_lines_with_line_feed() throws IOException {
+
+        assertThat(read("data: first\ndata:second\ndata: \n\n"))
+                .containsExactly("first\nsecond\n");
+    }
+
+    @Test
+    void should_skip_comments_other_fields_and_events_without_data() throws IOException {
+
+        assertThat(read(": keep-alive\n\nevent: message\nid: 1\nretry: 10\ndata: payload\n\n"))
+                .containsExactly("payload");
+    }
+
+    @Test
+    void should_discard_incomplete_event_at_end_of_stream() throws IOException {
+
+        assertThat(read("data: complete\n\ndata: incomplete\n"))
+                .containsExactly("complete");
+    }
+
+    @Test
+    void should_grow_buffer_for_large_events() throws IOException {
+
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            large.append(i);
+        }
+
+        assertThat(read("data: " + large + "\n\ndata: small\n\n"))
+                .containsExactly(large.toString(), "small");
+    }
+
+    @Test
+    void should_detect_done_marker() {
+
+        assertThat(ServerSentEventReader.isDone("[DONE]".getBytes(UTF_8), 6)).isTrue();
+        assertThat(ServerSentEventReader.isDone("[DONE]...".getBytes(UTF_8), 6)).isTrue();
+        assertThat(ServerSentEventReader.isDone("[DONE]".getBytes(UTF_8), 5)).isFalse();
+        assertThat(ServerSentEventReader.isDone("[done]".getBytes(UTF_8), 6)).isFalse();
+    }
+
+    private static List<String> read(String stream) throws IOException {
+        ServerSentEventReader reader = new ServerSentEventReader(new Buffer().writeUtf8(stream));
+        List<String> events = new ArrayList<>();
+        while (reader.processNextEvent((data, length) -> events.add(new String(data, 0, length, UTF_8)))) {
+            // collecting events
+        }
+        return events;
+    }
+}
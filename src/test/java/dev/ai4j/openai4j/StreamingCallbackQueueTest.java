@@ -0,0 +1,35 @@
+package dev.ai4j.openai4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingCallbackQueueTest {
+
+    @Test
+    void should_reject_callbacks_offered_after_final_callback() {
+
+        // given
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        StreamingCallbackQueue queue = new StreamingCallbackQueue(tasks::add, 10, StreamingOverflowPolicy.FAIL);
+        List<String> executed = new ArrayList<>();
+
+        // when
+        boolean first = queue.offer(() -> executed.add("first"), () -> false);
+        queue.offerLast(() -> executed.add("final"));
+        boolean late = queue.offer(() -> executed.add("late"), () -> false);
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(late).isFalse();
+        assertThat(executed).containsExactly("first", "final");
+    }
+}
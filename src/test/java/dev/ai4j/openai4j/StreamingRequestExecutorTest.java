@@ -0,0 +1,396 @@
+package dev.ai4j.openai4j;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingRequestExecutorTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private OpenAiClient client;
+
+    @BeforeEach
+    void start() throws IOException {
+        server.start();
+        client = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .build();
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        client.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void should_aggregate_partial_responses_into_future() throws Exception {
+
+        // given
+        server.enqueue(eventStream(
+                delta("Hello"),
+                delta(" "),
+                delta("world"),
+                "[DONE]"
+        ));
+
+        // when
+        CompletableFuture<String> future = client.chatCompletion("hi").executeStreamingAsync(joining());
+
+        // then
+        assertThat(future.get(10, SECONDS)).isEqualTo("Hello world");
+    }
+
+    @Test
+    void should_publish_partial_responses_on_demand() throws Exception {
+
+        // given
+        server.enqueue(eventStream(
+                delta("Hello"),
+                delta(" "),
+                delta("world"),
+                "[DONE]"
+        ));
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        // when
+        client.chatCompletion("hi").toPublisher().subscribe(new Subscriber<String>() {
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.set(s);
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(String partialResponse) {
+                received.add(partialResponse);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completed.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+        });
+
+        // then
+        Thread.sleep(500);
+        assertThat(received).containsExactly("Hello");
+        assertThat(completed).isNotDone();
+
+        subscription.get().request(Long.MAX_VALUE);
+        completed.get(10, SECONDS);
+        assertThat(received).containsExactly("Hello", " ", "world");
+    }
+
+    @Test
+    void should_not_publish_after_error() throws Exception {
+
+        // given
+        server.enqueue(eventStream(
+                delta("Hello"),
+                "{not json",
+                delta(" "),
+                delta("world"),
+                "[DONE]"
+        ));
+
+        List<String> signals = new CopyOnWriteArrayList<>();
+        CountDownLatch failed = new CountDownLatch(1);
+
+        // when
+        client.chatCompletion("hi").toPublisher().subscribe(new Subscriber<String>() {
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String partialResponse) {
+                signals.add(partialResponse);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                signals.add("error");
+                failed.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("complete");
+            }
+        });
+
+        // then
+        assertThat(failed.await(10, SECONDS)).isTrue();
+        Thread.sleep(500);
+        assertThat(signals).containsExactly("Hello", "error");
+    }
+
+    @Test
+    void should_abort_stream_immediately_when_cancelled() throws Exception {
+
+        // given
+        server.enqueue(eventStream(
+                delta("Hello"),
+                delta(" "),
+                delta("world"),
+                "[DONE]"
+        ).throttleBody(100, 1, SECONDS));
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        AtomicReference<ResponseHandle> responseHandle = new AtomicReference<>();
+        CompletableFuture<Long> cancelledAt = new CompletableFuture<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        // when
+        responseHandle.set(client.chatCompletion("hi")
+                .onPartialResponse(partialResponse -> {
+                    received.add(partialResponse);
+                    cancelledAt.complete(System.nanoTime());
+                    responseHandle.get().cancel();
+                })
+                .onComplete(() -> completed.complete(null))
+                .onError(completed::completeExceptionally)
+                .execute());
+
+        // then
+        responseHandle.get().completion().toCompletableFuture().get(10, SECONDS);
+        assertThat(NANOSECONDS.toMillis(System.nanoTime() - cancelledAt.get())).isLessThan(500);
+        assertThat(received).containsExactly("Hello");
+        assertThat(completed).isNotDone();
+    }
+
+    @Test
+    void should_deliver_partial_responses_in_order_on_callback_executor() throws Exception {
+
+        // given
+        ExecutorService callbackExecutor = Executors.newFixedThreadPool(4, r -> new Thread(r, "callback-thread"));
+        OpenAiClient clientWithExecutor = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .callbackExecutor(callbackExecutor)
+                .build();
+
+        String[] events = new String[101];
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            events[i] = delta(i + ",");
+            expected.append(i).append(",");
+        }
+        events[100] = "[DONE]";
+        server.enqueue(eventStream(events));
+
+        List<String> threads = new CopyOnWriteArrayList<>();
+        StringBuilder received = new StringBuilder();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+
+        // when
+        clientWithExecutor.chatCompletion("hi")
+                .onPartialResponse(partialResponse -> {
+                    threads.add(Thread.currentThread().getName());
+                    received.append(partialResponse);
+                })
+                .onComplete(() -> completed.complete(null))
+                .onError(completed::completeExceptionally)
+                .execute();
+
+        // then
+        completed.get(10, SECONDS);
+        assertThat(received.toString()).isEqualTo(expected.toString());
+        assertThat(threads).containsOnly("callback-thread");
+
+        clientWithExecutor.shutdown();
+        callbackExecutor.shutdown();
+    }
+
+    @Test
+    void should_fail_stream_when_callback_queue_overflows() throws Exception {
+
+        // given
+        ExecutorService callbackExecutor = Executors.newSingleThreadExecutor();
+        OpenAiClient clientWithExecutor = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .callbackExecutor(callbackExecutor)
+                .streamingCallbackQueueCapacity(1)
+                .streamingOverflowPolicy(StreamingOverflowPolicy.FAIL)
+                .build();
+
+        server.enqueue(eventStream(delta("1"), delta("2"), delta("3"), delta("4"), "[DONE]"));
+
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Throwable> error = new CompletableFuture<>();
+
+        // when
+        clientWithExecutor.chatCompletion("hi")
+                .onPartialResponse(partialResponse -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .onComplete(() -> error.complete(null))
+                .onError(error::complete)
+                .execute();
+
+        Thread.sleep(500);
+        release.countDown();
+
+        // then
+        assertThat(error.get(10, SECONDS)).isInstanceOf(RejectedExecutionException.class);
+
+        clientWithExecutor.shutdown();
+        callbackExecutor.shutdown();
+    }
+
+    @Test
+    void should_not_deliver_partial_responses_after_callback_queue_overflow() throws Exception {
+
+        // given
+        ExecutorService callbackExecutor = Executors.newSingleThreadExecutor();
+        OpenAiClient clientWithExecutor = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .callbackExecutor(callbackExecutor)
+                .streamingCallbackQueueCapacity(1)
+                .streamingOverflowPolicy(StreamingOverflowPolicy.FAIL)
+                .build();
+
+        String[] events = new String[201];
+        for (int i = 0; i < 200; i++) {
+            events[i] = delta(String.valueOf(i));
+        }
+        events[200] = "[DONE]";
+        server.enqueue(eventStream(events));
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> signals = new CopyOnWriteArrayList<>();
+        CompletableFuture<Throwable> error = new CompletableFuture<>();
+
+        // when
+        clientWithExecutor.chatCompletion("hi")
+                .onPartialResponse(partialResponse -> {
+                    signals.add("partial");
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .onComplete(() -> signals.add("complete"))
+                .onError(e -> {
+                    signals.add("error");
+                    error.complete(e);
+                })
+                .execute();
+
+        Thread.sleep(500);
+        release.countDown();
+
+        // then
+        assertThat(error.get(10, SECONDS)).isInstanceOf(RejectedExecutionException.class);
+        Thread.sleep(500);
+        assertThat(signals).doesNotContain("complete").endsWith("error");
+        assertThat(signals.stream().filter("error"::equals)).hasSize(1);
+
+        clientWithExecutor.shutdown();
+        callbackExecutor.shutdown();
+    }
+
+    @Test
+    void should_pass_http_error_to_error_handler() throws Exception {
+
+        // given
+        server.enqueue(new MockResponse().setResponseCode(401).setBody("invalid api key"));
+
+        CompletableFuture<Throwable> error = new CompletableFuture<>();
+
+        // when
+        client.chatCompletion("hi")
+                .onPartialResponse(partialResponse -> error.completeExceptionally(new AssertionError("unexpected response")))
+                .onComplete(() -> error.completeExceptionally(new AssertionError("unexpected completion")))
+                .onError(error::complete)
+                .execute();
+
+        // then
+        assertThat(error.get(10, SECONDS))
+                .isInstanceOf(OpenAiHttpException.class)
+                .hasMessage("invalid api key");
+    }
+
+    @Test
+    void should_send_request_with_content_length_when_not_chunked() throws Exception {
+
+        // given
+        OpenAiClient sizedClient = OpenAiClient.builder()
+                .baseUrl(server.url("/v1/").toString())
+                .openAiApiKey("test")
+                .chunkedStreamingRequests(false)
+                .build();
+        server.enqueue(eventStream(delta("Hello"), "[DONE]"));
+        server.enqueue(eventStream(delta("Hello"), "[DONE]"));
+
+        // when
+        client.chatCompletion("hi").executeStreamingAsync(joining()).get(10, SECONDS);
+        sizedClient.chatCompletion("hi").executeStreamingAsync(joining()).get(10, SECONDS);
+
+        // then
+        RecordedRequest chunked = server.takeRequest();
+        assertThat(chunked.getHeader("Transfer-Encoding")).isEqualTo("chunked");
+        RecordedRequest sized = server.takeRequest();
+        assertThat(sized.getHeader("Transfer-Encoding")).isNull();
+        assertThat(sized.getHeader("Content-Length")).isEqualTo(String.valueOf(sized.getBodySize()));
+        assertThat(sized.getBody().readUtf8()).isEqualTo(chunked.getBody().readUtf8());
+
+        sizedClient.shutdown();
+    }
+
+    static MockResponse eventStream(String... events) {
+        StringBuilder body = new StringBuilder();
+        for (String event : events) {
+            body.append("data: ").append(event).append("\n\n");
+        }
+        return new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody(body.toString());
+    }
+
+    static String delta(String content) {
+        return "{\"choices\":[{\"index\":0,\"delta\":{\"content\":\"" + content + "\"}}]}";
+    }
+}
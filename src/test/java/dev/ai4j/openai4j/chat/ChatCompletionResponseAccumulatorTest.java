@@ -0,0 +1,135 @@
+package dev.ai4j.openai4j.chat;
+
+import dev.ai4j.openai4j.shared.Usage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatCompletionResponseAccumulatorTest {
+
+    @Test
+    void should_accumulate_content_finish_reason_and_usage() {
+
+        // given
+        ChatCompletionResponseAccumulator accumulator = new ChatCompletionResponseAccumulator();
+
+        // when
+        accumulator.accept(chunk(Delta.builder().role(Role.ASSISTANT).content("").build(), null));
+        accumulator.accept(chunk(Delta.builder().content("Hello").build(), null));
+        accumulator.accept(chunk(Delta.builder().content(" world").build(), null));
+        accumulator.accept(chunk(Delta.builder().build(), "stop"));
+        accumulator.accept(ChatCompletionResponse.builder()
+                .id("chatcmpl-123")
+                .choices(emptyList())
+                .usage(Usage.builder().promptTokens(10).completionTokens(2).totalTokens(12).build())
+                .build());
+
+        // then
+        ChatCompletionResponse response = accumulator.build();
+        assertThat(response.id()).isEqualTo("chatcmpl-123");
+        assertThat(response.model()).isEqualTo("gpt-4o");
+        assertThat(response.content()).isEqualTo("Hello world");
+        assertThat(response.choices().get(0).finishReason()).isEqualTo("stop");
+        assertThat(response.usage().totalTokens()).isEqualTo(12);
+    }
+
+    @Test
+    void should_merge_tool_calls_by_index() {
+
+        // given
+        ChatCompletionResponseAccumulator accumulator = new ChatCompletionResponseAccumulator();
+
+        // when
+        accumulator.accept(chunk(toolCallDelta(ToolCall.builder().index(0).id("call_1").type(ToolType.FUNCTION)
+                .function(FunctionCall.builder().name("get_weather").arguments("").build()).build()), null));
+        accumulator.accept(chunk(toolCallDelta(ToolCall.builder().index(0)
+                .function(FunctionCall.builder().arguments("{\"city\":").build()).build()), null));
+        accumulator.accept(chunk(toolCallDelta(ToolCall.builder().index(0)
+                .function(FunctionCall.builder().arguments("\"Paris\"}").build()).build()), null));
+        accumulator.accept(chunk(toolCallDelta(ToolCall.builder().index(1).id("call_2").type(ToolType.FUNCTION)
+                .function(FunctionCall.builder().name("get_time").arguments("{}").build()).build()), null));
+        accumulator.accept(chunk(Delta.builder().build(), "tool_calls"));
+
+        // then
+        ChatCompletionChoice choice = accumulator.build().choices().get(0);
+        assertThat(choice.finishReason()).isEqualTo("tool_calls");
+        assertThat(choice.message().content()).isNull();
+        assertThat(choice.message().toolCalls()).containsExactly(
+                ToolCall.builder().index(0).id("call_1").type(ToolType.FUNCTION)
+                        .function(FunctionCall.builder().name("get_weather").arguments("{\"city\":\"Paris\"}").build())
+                        .build(),
+                ToolCall.builder().index(1).id("call_2").type(ToolType.FUNCTION)
+                        .function(FunctionCall.builder().name("get_time").arguments("{}").build())
+                        .build()
+        );
+    }
+
+    @Test
+    void should_collect_chunks() {
+
+        ChatCompletionResponse response = Stream.of(
+                chunk(Delta.builder().content("Hello").build(), null),
+                chunk(Delta.builder().content(" world").build(), "stop")
+        ).collect(ChatCompletionResponseAccumulator.collector());
+
+        assertThat(response.content()).isEqualTo("Hello world");
+    }
+
+    @Test
+    void should_collect_chunks_in_parallel() {
+
+        // given
+        List<ChatCompletionResponse> chunks = new ArrayList<>();
+        StringBuilder expectedContent = new StringBuilder();
+        StringBuilder expectedArguments = new StringBuilder();
+        chunks.add(chunk(toolCallDelta(ToolCall.builder().index(0).id("call_1").type(ToolType.FUNCTION)
+                .function(FunctionCall.builder().name("get_weather").build()).build()), null));
+        for (int i = 0; i < 1000; i++) {
+            chunks.add(chunk(Delta.builder().content("c" + i).build(), null));
+            chunks.add(chunk(toolCallDelta(ToolCall.builder().index(0)
+                    .function(FunctionCall.builder().arguments("a" + i).build()).build()), null));
+            expectedContent.append("c").append(i);
+            expectedArguments.append("a").append(i);
+        }
+        chunks.add(ChatCompletionResponse.builder()
+                .choices(singletonList(ChatCompletionChoice.builder().index(0).finishReason("tool_calls").build()))
+                .usage(Usage.builder().totalTokens(12).build())
+                .build());
+
+        // when
+        ChatCompletionResponse response = chunks.parallelStream().collect(ChatCompletionResponseAccumulator.collector());
+
+        // then
+        assertThat(response).isEqualTo(chunks.stream().collect(ChatCompletionResponseAccumulator.collector()));
+        ChatCompletionChoice choice = response.choices().get(0);
+        assertThat(choice.message().content()).isEqualTo(expectedContent.toString());
+        assertThat(choice.message().toolCalls().get(0).id()).isEqualTo("call_1");
+        assertThat(choice.message().toolCalls().get(0).function().name()).isEqualTo("get_weather");
+        assertThat(choice.message().toolCalls().get(0).function().arguments()).isEqualTo(expectedArguments.toString());
+        assertThat(choice.finishReason()).isEqualTo("tool_calls");
+        assertThat(response.usage().totalTokens()).isEqualTo(12);
+        assertThat(response.id()).isEqualTo("chatcmpl-123");
+    }
+
+    private static Delta toolCallDelta(ToolCall toolCall) {
+        return Delta.builder().toolCalls(singletonList(toolCall)).build();
+    }
+
+    private static ChatCompletionResponse chunk(Delta delta, String finishReason) {
+        return ChatCompletionResponse.builder()
+                .id("chatcmpl-123")
+                .model("gpt-4o")
+                .choices(singletonList(ChatCompletionChoice.builder()
+                        .index(0)
+                        .delta(delta)
+                        .finishReason(finishReason)
+                        .build()))
+                .build();
+    }
+}
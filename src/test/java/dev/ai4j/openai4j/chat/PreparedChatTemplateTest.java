@@ -0,0 +1,123 @@
+package dev.ai4j.openai4j.chat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.ai4j.openai4j.shared.StreamOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PreparedChatTemplateTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final PreparedChatTemplate TEMPLATE = PreparedChatTemplate.from(ChatCompletionRequest.builder()
+            .model("gpt-4o-mini")
+            .addSystemMessage("You are a helpful assistant")
+            .tools(Tool.from(Function.builder()
+                    .name("get_weather")
+                    .description("Returns the current weather")
+                    .parameters(JsonObjectSchema.builder()
+                            .properties(singletonMap("city", JsonStringSchema.builder().build()))
+                            .build())
+                    .build()))
+            .build());
+
+    @Test
+    void should_write_same_json_as_regular_serialization() throws IOException {
+
+        // given
+        ChatCompletionRequest request = TEMPLATE.request(
+                UserMessage.from("What is the weather in Paris?"),
+                AssistantMessage.from("Sunny"),
+                UserMessage.from("And in \"London\"?"));
+
+        // when
+        byte[] json = TEMPLATE.toJson(request);
+
+        // then
+        assertThat(OBJECT_MAPPER.readTree(json)).isEqualTo(OBJECT_MAPPER.valueToTree(request));
+        assertThat(request.messages()).hasSize(4);
+        assertThat(request.messages().get(0)).isEqualTo(SystemMessage.from("You are a helpful assistant"));
+    }
+
+    @Test
+    void should_write_stream_parameters_of_the_request() throws IOException {
+
+        // given
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .from(TEMPLATE.request(UserMessage.from("Hello")))
+                .stream(true)
+                .streamOptions(StreamOptions.builder().includeUsage(true).build())
+                .build();
+
+        // when
+        JsonNode json = OBJECT_MAPPER.readTree(TEMPLATE.toJson(request));
+
+        // then
+        assertThat(TEMPLATE.canWrite(request)).isTrue();
+        assertThat(json).isEqualTo(OBJECT_MAPPER.valueToTree(request));
+        assertThat(json.get("stream").asBoolean()).isTrue();
+        assertThat(json.get("stream_options").get("include_usage").asBoolean()).isTrue();
+    }
+
+    @Test
+    void should_write_template_without_messages() throws IOException {
+
+        // given
+        PreparedChatTemplate template = PreparedChatTemplate.from(ChatCompletionRequest.builder().build());
+        ChatCompletionRequest request = template.request(UserMessage.from("Hello"), UserMessage.from("Bye"));
+
+        // when
+        String json = new String(template.toJson(request), UTF_8);
+
+        // then
+        assertThat(OBJECT_MAPPER.readTree(json)).isEqualTo(OBJECT_MAPPER.valueToTree(request));
+    }
+
+    @Test
+    void should_not_write_modified_requests() {
+
+        // given
+        ChatCompletionRequest request = TEMPLATE.request(UserMessage.from("Hello"));
+        ChatCompletionRequest withTemperature = ChatCompletionRequest.builder().from(request).temperature(0.5).build();
+        ChatCompletionRequest withoutSystemMessage = ChatCompletionRequest.builder()
+                .from(request)
+                .messages(UserMessage.from("Hello"))
+                .build();
+        ChatCompletionRequest fromAnotherTemplate = PreparedChatTemplate.from(ChatCompletionRequest.builder().build())
+                .request(UserMessage.from("Hello"));
+
+        // then
+        assertThat(TEMPLATE.canWrite(request)).isTrue();
+        assertThat(TEMPLATE.canWrite(withTemperature)).isFalse();
+        assertThat(TEMPLATE.canWrite(withoutSystemMessage)).isFalse();
+        assertThat(TEMPLATE.canWrite(fromAnotherTemplate)).isFalse();
+        assertThatThrownBy(() -> TEMPLATE.toJson(withTemperature))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_write_nothing_when_request_does_not_match() throws IOException {
+
+        // given
+        ChatCompletionRequest withTemperature = ChatCompletionRequest.builder()
+                .from(TEMPLATE.request(UserMessage.from("Hello")))
+                .temperature(0.5)
+                .build();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        boolean written = TEMPLATE.tryWriteTo(withTemperature, outputStream);
+
+        // then
+        assertThat(written).isFalse();
+        assertThat(outputStream.size()).isZero();
+    }
+}
@@ -0,0 +1,81 @@
+package dev.ai4j.openai4j.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingArgumentsParserTest {
+
+    @Test
+    void should_report_each_argument_as_soon_as_its_value_is_complete() {
+
+        // given
+        Map<String, Object> reported = new LinkedHashMap<>();
+        StreamingArgumentsParser parser = new StreamingArgumentsParser(reported::put);
+
+        // when
+        parser.append("{\"ci");
+        parser.append("ty\": \"Par");
+        assertThat(reported).isEmpty();
+        parser.append("is\", \"days\": 1");
+        assertThat(reported).containsOnlyKeys("city");
+        parser.append("2, \"units\": {\"temperature\": \"C\"}");
+        assertThat(reported).containsOnlyKeys("city", "days", "units");
+        assertThat(parser.isComplete()).isFalse();
+        parser.append(", \"tags\": [\"a\", 1.5, true, null]}");
+
+        // then
+        assertThat(parser.isComplete()).isTrue();
+        assertThat(reported).containsExactly(
+                entry("city", "Paris"),
+                entry("days", 12),
+                entry("units", singletonMap("temperature", "C")),
+                entry("tags", asList("a", 1.5, true, null))
+        );
+        assertThat(parser.arguments()).isEqualTo(reported);
+        assertThat(parser.arguments()).isEqualTo(FunctionCallUtil.argumentsAsMap(
+                "{\"city\": \"Paris\", \"days\": 12, \"units\": {\"temperature\": \"C\"}, \"tags\": [\"a\", 1.5, true, null]}"));
+    }
+
+    @Test
+    void should_handle_multi_byte_characters_and_escapes() {
+
+        // given
+        List<Object> reported = new ArrayList<>();
+        StreamingArgumentsParser parser = new StreamingArgumentsParser((name, value) -> reported.add(value));
+
+        // when
+        parser.append("{\"text\": \"h\\u00e9llo \\\"w");
+        parser.append("örld\\\" 日本\"}");
+
+        // then
+        assertThat(reported).containsExactly("héllo \"wörld\" 日本");
+        assertThat(parser.isComplete()).isTrue();
+    }
+
+    @Test
+    void should_fail_on_invalid_json() {
+
+        // given
+        StreamingArgumentsParser parser = new StreamingArgumentsParser((name, value) -> {
+        });
+        parser.append("{\"city\" ");
+
+        // when-then
+        assertThatThrownBy(() -> parser.append("\"Paris\"}"))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    private static Map.Entry<String, Object> entry(String key, Object value) {
+        return new AbstractMap.SimpleEntry<>(key, value);
+    }
+}
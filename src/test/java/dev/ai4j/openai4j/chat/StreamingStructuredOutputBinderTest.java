@@ -0,0 +1,142 @@
+package dev.ai4j.openai4j.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingStructuredOutputBinderTest {
+
+    private static final JsonObjectSchema SCHEMA = JsonObjectSchema.builder()
+            .properties(new LinkedHashMap<String, JsonSchemaElement>() {{
+                put("query", JsonStringSchema.builder().build());
+                put("results", JsonArraySchema.builder()
+                        .items(JsonReferenceSchema.builder().reference("#/$defs/Result").build())
+                        .build());
+                put("total", JsonIntegerSchema.builder().build());
+            }})
+            .definitions(singletonMap("Result", JsonObjectSchema.builder()
+                    .properties(new LinkedHashMap<String, JsonSchemaElement>() {{
+                        put("title", JsonStringSchema.builder().build());
+                        put("score", JsonNumberSchema.builder().build());
+                        put("rank", JsonIntegerSchema.builder().build());
+                    }})
+                    .build()))
+            .build();
+
+    @Test
+    void should_emit_typed_fields_and_array_elements_as_soon_as_they_are_complete() {
+
+        // given
+        List<String> events = new ArrayList<>();
+        List<Object> elements = new ArrayList<>();
+        StreamingStructuredOutputBinder binder = new StreamingStructuredOutputBinder(SCHEMA, new StreamingStructuredOutputBinder.Listener() {
+
+            @Override
+            public void onField(String name, Object value) {
+                events.add("field " + name);
+            }
+
+            @Override
+            public void onArrayElement(String field, int index, Object element) {
+                events.add("element " + field + "[" + index + "]");
+                elements.add(element);
+            }
+        });
+
+        // when-then
+        binder.accept(chunk("{\"query\": \"ja"));
+        binder.accept(chunk("va\", \"results\": [{\"title\": \"a\", \"score\": 1, \"rank\": 1}"));
+        assertThat(events).containsExactly("field query", "element results[0]");
+        assertThat(elements.get(0)).isEqualTo(result("a", 1.0, 1L));
+
+        binder.accept(chunk(", {\"title\": \"b\", \"score\": 0.5, \"rank\": 2}]"));
+        assertThat(events).containsExactly("field query", "element results[0]", "element results[1]", "field results");
+        assertThat(binder.isComplete()).isFalse();
+
+        binder.accept(chunk(", \"total\": 2}"));
+        assertThat(binder.isComplete()).isTrue();
+
+        Map<String, Object> result = binder.result();
+        assertThat(result.get("query")).isEqualTo("java");
+        assertThat(result.get("results")).isEqualTo(asList(result("a", 1.0, 1L), result("b", 0.5, 2L)));
+        assertThat(result.get("total")).isEqualTo(2L);
+    }
+
+    @Test
+    void should_keep_values_without_schema_as_parsed() {
+
+        // given
+        StreamingStructuredOutputBinder binder = new StreamingStructuredOutputBinder(SCHEMA, new StreamingStructuredOutputBinder.Listener() {
+        });
+
+        // when
+        binder.append("{\"unknown\": 1, \"total\": 3}");
+
+        // then
+        assertThat(binder.result().get("unknown")).isEqualTo(1);
+        assertThat(binder.result().get("total")).isEqualTo(3L);
+    }
+
+    @Test
+    void should_keep_values_as_parsed_for_object_schemas_without_properties() {
+
+        // given
+        List<String> fields = new ArrayList<>();
+        JsonObjectSchema schema = JsonObjectSchema.builder()
+                .properties(singletonMap("metadata", withoutProperties()))
+                .build();
+        StreamingStructuredOutputBinder binder = new StreamingStructuredOutputBinder(withoutProperties(), new StreamingStructuredOutputBinder.Listener() {
+
+            @Override
+            public void onField(String name, Object value) {
+                fields.add(name);
+            }
+        });
+        StreamingStructuredOutputBinder nestedBinder = new StreamingStructuredOutputBinder(schema, new StreamingStructuredOutputBinder.Listener() {
+        });
+
+        // when
+        binder.append("{\"total\": 3}");
+        nestedBinder.append("{\"metadata\": {\"total\": 3}}");
+
+        // then
+        assertThat(fields).containsExactly("total");
+        assertThat(binder.result().get("total")).isEqualTo(3);
+        assertThat(nestedBinder.result().get("metadata")).isEqualTo(singletonMap("total", 3));
+    }
+
+    private static JsonObjectSchema withoutProperties() {
+        return new JsonObjectSchema(JsonObjectSchema.builder()) {
+
+            @Override
+            public Map<String, JsonSchemaElement> properties() {
+                return null;
+            }
+        };
+    }
+
+    private static Map<String, Object> result(String title, double score, long rank) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("title", title);
+        result.put("score", score);
+        result.put("rank", rank);
+        return result;
+    }
+
+    private static ChatCompletionResponse chunk(String content) {
+        return ChatCompletionResponse.builder()
+                .choices(singletonList(ChatCompletionChoice.builder()
+                        .index(0)
+                        .delta(Delta.builder().content(content).build())
+                        .build()))
+                .build();
+    }
+}
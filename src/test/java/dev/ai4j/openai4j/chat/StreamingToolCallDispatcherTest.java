@@ -0,0 +1,117 @@
+package dev.ai4j.openai4j.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingToolCallDispatcherTest {
+
+    @Test
+    void should_dispatch_each_tool_call_as_soon_as_its_arguments_are_complete() throws Exception {
+
+        // given
+        List<ToolCall> executed = new ArrayList<>();
+        StreamingToolCallDispatcher dispatcher = new StreamingToolCallDispatcher(toolCall -> {
+            executed.add(toolCall);
+            return "result of " + toolCall.id();
+        }, Runnable::run);
+
+        // when-then
+        dispatcher.accept(chunk(ToolCall.builder().index(0).id("call_1").type(ToolType.FUNCTION)
+                .function(FunctionCall.builder().name("get_weather").arguments("").build()).build()));
+        dispatcher.accept(chunk(ToolCall.builder().index(0)
+                .function(FunctionCall.builder().arguments("{\"city\": \"Par").build()).build()));
+        assertThat(executed).isEmpty();
+
+        dispatcher.accept(chunk(ToolCall.builder().index(0)
+                .function(FunctionCall.builder().arguments("is\"}").build()).build()));
+        assertThat(executed).hasSize(1);
+        assertThat(executed.get(0).id()).isEqualTo("call_1");
+        assertThat(executed.get(0).function().name()).isEqualTo("get_weather");
+        assertThat(executed.get(0).function().arguments()).isEqualTo("{\"city\": \"Paris\"}");
+
+        dispatcher.accept(chunk(ToolCall.builder().index(1).id("call_2").type(ToolType.FUNCTION)
+                .function(FunctionCall.builder().name("get_time").arguments("{}").build()).build()));
+        assertThat(executed).hasSize(2);
+
+        List<ToolMessage> toolMessages = dispatcher.toolMessages().get();
+        assertThat(toolMessages).containsExactly(
+                ToolMessage.from("call_1", "result of call_1"),
+                ToolMessage.from("call_2", "result of call_2")
+        );
+    }
+
+    @Test
+    void should_not_execute_tool_call_with_truncated_arguments() {
+
+        // given
+        List<ToolCall> executed = new ArrayList<>();
+        StreamingToolCallDispatcher dispatcher = new StreamingToolCallDispatcher(toolCall -> {
+            executed.add(toolCall);
+            return "";
+        }, Runnable::run);
+        dispatcher.accept(chunk(ToolCall.builder().index(0).id("call_1").type(ToolType.FUNCTION)
+                .function(FunctionCall.builder().name("get_time").arguments("{\"zone\": ").build()).build()));
+
+        // when-then
+        assertThatThrownBy(() -> dispatcher.toolMessages().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("The arguments of tool call call_1 are not a complete JSON object: {\"zone\": ");
+        assertThat(executed).isEmpty();
+    }
+
+    @Test
+    void should_fail_previous_tool_call_with_invalid_arguments_when_next_one_starts() {
+
+        // given
+        List<String> executed = new ArrayList<>();
+        StreamingToolCallDispatcher dispatcher = new StreamingToolCallDispatcher(toolCall -> {
+            executed.add(toolCall.id());
+            return "";
+        }, Runnable::run);
+
+        // when
+        dispatcher.accept(chunk(ToolCall.builder().index(0).id("call_1")
+                .function(FunctionCall.builder().name("broken").arguments("{\"a\" 1").build()).build()));
+        dispatcher.accept(chunk(ToolCall.builder().index(1).id("call_2")
+                .function(FunctionCall.builder().name("get_time").arguments("{}").build()).build()));
+
+        // then
+        assertThat(executed).containsExactly("call_2");
+        assertThatThrownBy(() -> dispatcher.toolMessages().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void should_fail_tool_messages_when_a_tool_fails() {
+
+        // given
+        StreamingToolCallDispatcher dispatcher = new StreamingToolCallDispatcher(toolCall -> {
+            throw new IllegalStateException("tool failed");
+        }, Runnable::run);
+        dispatcher.accept(chunk(ToolCall.builder().index(0).id("call_1")
+                .function(FunctionCall.builder().name("get_weather").arguments("{}").build()).build()));
+
+        // when-then
+        assertThatThrownBy(() -> dispatcher.toolMessages().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("tool failed");
+    }
+
+    private static ChatCompletionResponse chunk(ToolCall toolCall) {
+        return ChatCompletionResponse.builder()
+                .choices(singletonList(ChatCompletionChoice.builder()
+                        .index(0)
+                        .delta(Delta.builder().toolCalls(singletonList(toolCall)).build())
+                        .build()))
+                .build();
+    }
+}
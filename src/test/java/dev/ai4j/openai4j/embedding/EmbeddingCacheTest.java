@@ -0,0 +1,144 @@
+package dev.ai4j.openai4j.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmbeddingCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_derive_key_from_model_dimensions_and_text() {
+
+        assertThat(EmbeddingCacheKey.of("model", 256, "text")).isEqualTo(EmbeddingCacheKey.of("model", 256, "text"));
+        assertThat(EmbeddingCacheKey.of("model", 256, "text")).isNotEqualTo(EmbeddingCacheKey.of("model", 512, "text"));
+        assertThat(EmbeddingCacheKey.of("model", null, "text")).isNotEqualTo(EmbeddingCacheKey.of("other", null, "text"));
+        assertThat(EmbeddingCacheKey.of("model", null, "text")).isNotEqualTo(EmbeddingCacheKey.of("model", null, "text2"));
+    }
+
+    @Test
+    void should_keep_frequently_used_vectors_during_a_scan() {
+
+        // given
+        InMemoryEmbeddingCache cache = new InMemoryEmbeddingCache(100);
+        for (int i = 0; i < 50; i++) {
+            cache.put(key("hot-" + i), new float[]{i});
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(key("hot-" + i));
+            }
+        }
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            cache.put(key("cold-" + i), new float[]{i});
+        }
+
+        // then
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.get(key("hot-" + i))).containsExactly(i);
+        }
+    }
+
+    @Test
+    void should_persist_vectors_across_reopening() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("embeddings.cache");
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(file)) {
+            cache.put(key("a"), new float[]{1f, 2f, 3f});
+            assertThat(cache.get(key("a"))).containsExactly(1f, 2f, 3f);
+            cache.put(key("b"), new float[]{-0.5f});
+        }
+
+        // when
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(file)) {
+
+            // then
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.get(key("a"))).containsExactly(1f, 2f, 3f);
+            assertThat(cache.get(key("b"))).containsExactly(-0.5f);
+            assertThat(cache.get(key("c"))).isNull();
+        }
+    }
+
+    @Test
+    void should_discard_partially_written_vector() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("embeddings.cache");
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(file)) {
+            cache.put(key("a"), new float[]{1f, 2f});
+            cache.put(key("b"), new float[]{3f, 4f});
+        }
+        try (FileChannel channel = FileChannel.open(file, WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        // when
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(file)) {
+            cache.put(key("c"), new float[]{5f});
+
+            // then
+            assertThat(cache.get(key("a"))).containsExactly(1f, 2f);
+            assertThat(cache.get(key("b"))).isNull();
+            assertThat(cache.get(key("c"))).containsExactly(5f);
+        }
+    }
+
+    @Test
+    void should_read_vectors_across_chunks() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("embeddings.cache");
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(file, 64)) {
+            for (int i = 0; i < 10; i++) {
+                cache.put(key("v" + i), new float[]{i, i + 1, i + 2});
+                assertThat(cache.get(key("v" + i))).containsExactly(i, i + 1, i + 2);
+            }
+            cache.put(key("large"), new float[100]);
+        }
+
+        // when
+        try (DiskEmbeddingCache cache = new DiskEmbeddingCache(file, 64)) {
+
+            // then
+            for (int i = 0; i < 10; i++) {
+                assertThat(cache.get(key("v" + i))).containsExactly(i, i + 1, i + 2);
+            }
+            assertThat(cache.get(key("large"))).hasSize(100);
+        }
+    }
+
+    @Test
+    void should_promote_vectors_from_slow_tier() throws IOException {
+
+        // given
+        try (DiskEmbeddingCache disk = new DiskEmbeddingCache(tempDir.resolve("embeddings.cache"))) {
+            disk.put(key("a"), new float[]{1f});
+            InMemoryEmbeddingCache memory = new InMemoryEmbeddingCache(10);
+            TieredEmbeddingCache cache = new TieredEmbeddingCache(memory, disk);
+
+            // when
+            float[] vector = cache.get(key("a"));
+
+            // then
+            assertThat(vector).containsExactly(1f);
+            assertThat(memory.get(key("a"))).containsExactly(1f);
+        }
+    }
+
+    private static EmbeddingCacheKey key(String text) {
+        return EmbeddingCacheKey.of("text-embedding-3-small", null, text);
+    }
+}
@@ -0,0 +1,90 @@
+package dev.ai4j.openai4j.embedding;
+
+import dev.ai4j.openai4j.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Compares deserialization of an {@link EmbeddingResponse} returned with {@link EncodingFormat#FLOAT}
+ * and {@link EncodingFormat#BASE64}.
+ * <p>
+ * Run with: <code>mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=dev.ai4j.openai4j.embedding.EmbeddingDeserializationBenchmark</code>
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmbeddingDeserializationBenchmark {
+
+    @Param({"1536", "3072"})
+    int dimensions;
+
+    @Param({"100"})
+    int batchSize;
+
+    String floatJson;
+    String base64Json;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder floats = new StringBuilder("{\"object\": \"list\", \"model\": \"text-embedding-3-large\", \"data\": [");
+        StringBuilder base64 = new StringBuilder(floats);
+        for (int i = 0; i < batchSize; i++) {
+            if (i > 0) {
+                floats.append(',');
+                base64.append(',');
+            }
+            ByteBuffer bytes = ByteBuffer.allocate(dimensions * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            floats.append("{\"object\": \"embedding\", \"index\": ").append(i).append(", \"embedding\": [");
+            for (int d = 0; d < dimensions; d++) {
+                float value = (float) random.nextGaussian() / 30;
+                if (d > 0) {
+                    floats.append(',');
+                }
+                floats.append(value);
+                bytes.putFloat(value);
+            }
+            floats.append("]}");
+            base64.append("{\"object\": \"embedding\", \"index\": ").append(i).append(", \"embedding\": \"")
+                    .append(Base64.getEncoder().encodeToString(bytes.array())).append("\"}");
+        }
+        floatJson = floats.append("]}").toString();
+        base64Json = base64.append("]}").toString();
+    }
+
+    @Benchmark
+    public EmbeddingResponse float_format() {
+        return Json.fromJson(floatJson, EmbeddingResponse.class);
+    }
+
+    @Benchmark
+    public EmbeddingResponse base64_format() {
+        return Json.fromJson(base64Json, EmbeddingResponse.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmbeddingDeserializationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
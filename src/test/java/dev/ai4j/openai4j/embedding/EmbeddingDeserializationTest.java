@@ -0,0 +1,98 @@
+package dev.ai4j.openai4j.embedding;
+
+import dev.ai4j.openai4j.Json;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddingDeserializationTest {
+
+    @Test
+    void should_deserialize_float_vector() {
+
+        // given
+        String json = "{\"model\": \"text-embedding-3-small\", \"data\": [{\"index\": 0, \"embedding\": [0.25, -1, 3.5e-3]}]}";
+
+        // when
+        EmbeddingResponse response = Json.fromJson(json, EmbeddingResponse.class);
+
+        // then
+        assertThat(response.data().get(0).embedding()).containsExactly(0.25f, -1f, 0.0035f);
+        assertThat(response.data().get(0).index()).isEqualTo(0);
+    }
+
+    @Test
+    void should_deserialize_base64_vector() {
+
+        // given
+        ByteBuffer bytes = ByteBuffer.allocate(3 * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putFloat(0.25f).putFloat(-1f).putFloat(0.0035f);
+        String base64 = Base64.getEncoder().encodeToString(bytes.array());
+        String json = "{\"data\": [{\"index\": 1, \"embedding\": \"" + base64 + "\"}]}";
+
+        // when
+        EmbeddingResponse response = Json.fromJson(json, EmbeddingResponse.class);
+
+        // then
+        assertThat(response.data().get(0).embedding()).isEqualTo(asList(0.25f, -1f, 0.0035f));
+        assertThat(response.data().get(0).index()).isEqualTo(1);
+    }
+
+    @Test
+    void should_expose_primitive_vector() {
+
+        // given
+        Embedding embedding = Json.fromJson("{\"index\": 0, \"embedding\": [1.5, 2, -3]}", Embedding.class);
+
+        // when
+        float[] vector = embedding.vector();
+        vector[0] = 0;
+
+        // then
+        assertThat(embedding.dimensions()).isEqualTo(3);
+        assertThat(embedding.vector()).containsExactly(1.5f, 2f, -3f);
+        assertThat(embedding.vectorBuffer().isReadOnly()).isTrue();
+        assertThat(embedding.vectorBuffer().get(2)).isEqualTo(-3f);
+        assertThat(embedding.embedding()).containsExactly(1.5f, 2f, -3f);
+        assertThatThrownBy(() -> embedding.embedding().set(0, 0f)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void should_round_trip_embedding() {
+
+        // given
+        Embedding embedding = Embedding.builder()
+                .embedding(asList(0.5f, -0.25f))
+                .index(3)
+                .build();
+
+        // when
+        Embedding deserialized = Json.fromJson(Json.toJson(embedding), Embedding.class);
+
+        // then
+        assertThat(deserialized).isEqualTo(embedding);
+        assertThat(deserialized.vector()).containsExactly(0.5f, -0.25f);
+    }
+
+    @Test
+    void should_serialize_encoding_format() {
+
+        // given
+        EmbeddingRequest request = EmbeddingRequest.builder()
+                .input("hello")
+                .encodingFormat(EncodingFormat.BASE64)
+                .build();
+
+        // when
+        String json = Json.toJson(request);
+
+        // then
+        assertThat(json).contains("\"encoding_format\":\"base64\"");
+    }
+}
@@ -0,0 +1,88 @@
+package dev.ai4j.openai4j.embedding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmbeddingFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_write_and_map_back_vectors_and_ids() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("embeddings.bin");
+        try (EmbeddingFileWriter writer = new EmbeddingFileWriter(file, "text-embedding-3-small")) {
+            for (int i = 0; i < 1000; i++) {
+                writer.accept(i, new float[]{i, -i, 0.5f});
+            }
+            writer.write(42_000_000_000L, Embedding.builder().vector(new float[]{1, 2, 3}).build());
+        }
+
+        // when
+        try (EmbeddingFileReader reader = new EmbeddingFileReader(file)) {
+
+            // then
+            assertThat(reader.model()).isEqualTo("text-embedding-3-small");
+            assertThat(reader.dimensions()).isEqualTo(3);
+            assertThat(reader.count()).isEqualTo(1001);
+            assertThat(reader.vector(999)).containsExactly(999, -999, 0.5f);
+            assertThat(reader.vectorBuffer(1000).get(2)).isEqualTo(3);
+            assertThat(reader.id(999)).isEqualTo(999);
+            assertThat(reader.id(1000)).isEqualTo(42_000_000_000L);
+        }
+    }
+
+    @Test
+    void should_export_npy() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("embeddings.bin");
+        try (EmbeddingFileWriter writer = new EmbeddingFileWriter(file, "model", 2)) {
+            writer.accept(0, new float[]{1, 2});
+            writer.accept(1, new float[]{3, 4});
+        }
+        Path npy = tempDir.resolve("embeddings.npy");
+
+        // when
+        try (EmbeddingFileReader reader = new EmbeddingFileReader(file)) {
+            reader.writeNpy(npy);
+        }
+
+        // then
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(npy)).order(ByteOrder.LITTLE_ENDIAN);
+        int headerLength = bytes.getShort(8);
+        String header = new String(bytes.array(), 10, headerLength, US_ASCII);
+        assertThat(header).startsWith("{'descr': '<f4', 'fortran_order': False, 'shape': (2, 2), }").endsWith("\n");
+        assertThat((10 + headerLength) % 64).isZero();
+        bytes.position(10 + headerLength);
+        assertThat(bytes.remaining()).isEqualTo(16);
+        assertThat(new float[]{bytes.getFloat(), bytes.getFloat(), bytes.getFloat(), bytes.getFloat()}).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    void should_reject_file_that_was_not_closed() throws IOException {
+
+        // given
+        Path file = tempDir.resolve("embeddings.bin");
+        EmbeddingFileWriter writer = new EmbeddingFileWriter(file, "model");
+        writer.accept(0, new float[]{1});
+
+        // then
+        assertThatThrownBy(() -> new EmbeddingFileReader(file))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not closed");
+        writer.close();
+    }
+}
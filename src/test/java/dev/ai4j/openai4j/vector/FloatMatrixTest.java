@@ -0,0 +1,96 @@
+package dev.ai4j.openai4j.vector;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class FloatMatrixTest {
+
+    @Test
+    void should_compute_dot_product_of_any_length() {
+
+        Random random = new Random(1);
+        for (int length = 0; length < 40; length++) {
+            float[] a = randomVector(random, length);
+            float[] b = randomVector(random, length);
+            double expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += a[i] * b[i];
+            }
+            assertThat(VectorMath.dot(a, b)).isCloseTo((float) expected, within(1e-4f));
+        }
+    }
+
+    @Test
+    void should_add_embeddings_in_index_order() {
+
+        // given
+        EmbeddingResponse response = EmbeddingResponse.builder()
+                .data(asList(
+                        Embedding.builder().index(1).vector(new float[]{0, 1}).build(),
+                        Embedding.builder().index(0).vector(new float[]{1, 0}).build()
+                ))
+                .build();
+        FloatMatrix matrix = new FloatMatrix(2, 1);
+
+        // when
+        int first = matrix.addAll(response);
+
+        // then
+        assertThat(first).isZero();
+        assertThat(matrix.rows()).isEqualTo(2);
+        assertThat(matrix.row(0)).containsExactly(1, 0);
+        assertThat(matrix.row(1)).containsExactly(0, 1);
+    }
+
+    @Test
+    void should_find_same_top_k_as_naive_search() {
+
+        // given
+        Random random = new Random(42);
+        int dimensions = 37;
+        FloatMatrix matrix = new FloatMatrix(dimensions);
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) { // large enough to be searched in parallel
+            float[] vector = randomVector(random, dimensions);
+            vectors.add(vector);
+            matrix.add(vector);
+        }
+        float[] query = randomVector(random, dimensions);
+
+        for (Similarity similarity : Similarity.values()) {
+
+            // when
+            List<SearchHit> hits = matrix.search(query, 10, similarity);
+
+            // then
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < vectors.size(); i++) {
+                expected.add(i);
+            }
+            expected.sort(Comparator.comparingDouble((Integer i) -> similarity == Similarity.COSINE
+                    ? VectorMath.cosine(query, vectors.get(i))
+                    : VectorMath.dot(query, vectors.get(i))).reversed());
+            assertThat(hits.stream().map(SearchHit::index).collect(toList())).isEqualTo(expected.subList(0, 10));
+            assertThat(hits.get(0).score()).isCloseTo(matrix.score(query, hits.get(0).index(), similarity), within(1e-6f));
+        }
+    }
+
+    private static float[] randomVector(Random random, int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,34 @@
+package dev.ai4j.openai4j.vector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FloatRowsTest {
+
+    @Test
+    void should_keep_rows_in_chunks_without_splitting_them() {
+
+        // given
+        FloatRows rows = new FloatRows(3, 1, 64); // 4 rows per chunk
+
+        // when
+        rows.ensureCapacity(2);
+        rows.ensureCapacity(10);
+        for (int row = 0; row < 10; row++) {
+            float[] chunk = rows.chunk(row);
+            for (int i = 0; i < 3; i++) {
+                chunk[rows.offset(row) + i] = row * 10 + i;
+            }
+        }
+
+        // then
+        assertThat(rows.rowsPerChunk()).isEqualTo(4);
+        assertThat(rows.capacity()).isEqualTo(12);
+        assertThat(rows.chunk(3)).isSameAs(rows.chunk(0));
+        assertThat(rows.chunk(4)).isNotSameAs(rows.chunk(3));
+        for (int row = 0; row < 10; row++) {
+            assertThat(rows.row(row)).containsExactly(row * 10, row * 10 + 1, row * 10 + 2);
+        }
+    }
+}
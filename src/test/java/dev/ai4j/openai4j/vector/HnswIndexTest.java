@@ -0,0 +1,160 @@
+package dev.ai4j.openai4j.vector;
+
+import dev.ai4j.openai4j.embedding.Embedding;
+import dev.ai4j.openai4j.embedding.EmbeddingResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void should_find_nearest_neighbours_when_built_concurrently() throws Exception {
+
+        // given
+        List<float[]> vectors = randomVectors(new Random(1), 5000);
+        HnswIndex index = HnswIndex.builder().dimensions(DIMENSIONS).capacity(vectors.size()).build();
+        FloatMatrix exact = new FloatMatrix(DIMENSIONS);
+        int[] ids = new int[vectors.size()];
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int first = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = first; i < vectors.size(); i += 4) {
+                        ids[i] = index.add(vectors.get(i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        float[][] byId = new float[vectors.size()][];
+        for (int i = 0; i < vectors.size(); i++) {
+            byId[ids[i]] = vectors.get(i);
+        }
+        for (float[] vector : byId) {
+            exact.add(vector);
+        }
+
+        // then
+        assertThat(index.size()).isEqualTo(vectors.size());
+        assertThat(recall(index, exact, randomVectors(new Random(2), 100))).isGreaterThan(0.9);
+    }
+
+    @Test
+    void should_search_same_after_save_and_load() throws IOException {
+
+        // given
+        HnswIndex index = HnswIndex.builder().dimensions(DIMENSIONS).capacity(1000).m(8).build();
+        for (float[] vector : randomVectors(new Random(3), 1000)) {
+            index.add(vector);
+        }
+        Path file = tempDir.resolve("index.hnsw");
+
+        // when
+        index.save(file);
+        HnswIndex loaded = HnswIndex.load(file, 2000);
+
+        // then
+        assertThat(loaded.size()).isEqualTo(1000);
+        assertThat(loaded.capacity()).isEqualTo(2000);
+        List<float[]> queries = randomVectors(new Random(4), 20);
+        assertThat(loaded.searchAll(queries, 5)).isEqualTo(index.searchAll(queries, 5));
+        assertThat(loaded.add(queries.get(0))).isEqualTo(1000);
+        assertThat(loaded.search(queries.get(0), 1).get(0).index()).isEqualTo(1000);
+    }
+
+    @Test
+    void should_search_same_after_save_and_load_across_chunks() throws IOException {
+
+        // given
+        HnswIndex index = HnswIndex.builder().dimensions(DIMENSIONS).capacity(1000).m(8).chunkBytes(1024).build();
+        for (float[] vector : randomVectors(new Random(5), 1000)) {
+            index.add(vector);
+        }
+        Path file = tempDir.resolve("index.hnsw");
+
+        // when
+        index.save(file);
+        HnswIndex loaded = HnswIndex.load(file, 0, 1024);
+
+        // then
+        assertThat(loaded.size()).isEqualTo(1000);
+        assertThat(loaded.vector(999)).containsExactly(index.vector(999));
+        List<float[]> queries = randomVectors(new Random(6), 20);
+        assertThat(loaded.searchAll(queries, 5)).isEqualTo(index.searchAll(queries, 5));
+        assertThat(HnswIndex.load(file).searchAll(queries, 5)).isEqualTo(index.searchAll(queries, 5));
+    }
+
+    @Test
+    void should_add_embeddings_in_index_order() {
+
+        // given
+        HnswIndex index = HnswIndex.builder().dimensions(2).capacity(10).build();
+        EmbeddingResponse response = EmbeddingResponse.builder()
+                .data(asList(
+                        Embedding.builder().index(1).vector(new float[]{0, 1}).build(),
+                        Embedding.builder().index(0).vector(new float[]{1, 0}).build()
+                ))
+                .build();
+
+        // when
+        int[] ids = index.addAll(response);
+
+        // then
+        assertThat(index.vector(ids[0])).containsExactly(1, 0);
+        assertThat(index.vector(ids[1])).containsExactly(0, 1);
+        assertThat(index.search(new float[]{0, 2}, 1).get(0).index()).isEqualTo(ids[1]);
+    }
+
+    private static double recall(HnswIndex index, FloatMatrix exact, List<float[]> queries) {
+        int found = 0;
+        for (float[] query : queries) {
+            Set<Integer> expected = new HashSet<>();
+            exact.search(query, 10, Similarity.COSINE).forEach(hit -> expected.add(hit.index()));
+            for (SearchHit hit : index.search(query, 10)) {
+                if (expected.contains(hit.index())) {
+                    found++;
+                }
+            }
+        }
+        return found / (10.0 * queries.size());
+    }
+
+    private static List<float[]> randomVectors(Random random, int count) {
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[DIMENSIONS];
+            for (int j = 0; j < DIMENSIONS; j++) {
+                vector[j] = (float) random.nextGaussian();
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+}
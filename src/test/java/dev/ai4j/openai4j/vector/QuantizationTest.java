@@ -0,0 +1,170 @@
+package dev.ai4j.openai4j.vector;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import static dev.ai4j.openai4j.vector.Similarity.COSINE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantizationTest {
+
+    private static final int DIMENSIONS = 256;
+    private static final int K = 10;
+
+    private static final List<float[]> vectors = new ArrayList<>();
+    private static final List<float[]> queries = new ArrayList<>();
+    private static final FloatMatrix floats = new FloatMatrix(DIMENSIONS);
+
+    @BeforeAll
+    static void createVectors() {
+        // clustered unit vectors, closer to real embeddings than uniformly random ones
+        Random random = new Random(7);
+        List<float[]> centroids = randomVectors(random, 50, 1);
+        for (int i = 0; i < 10_000; i++) {
+            vectors.add(near(random, centroids.get(i % centroids.size())));
+        }
+        for (int i = 0; i < 50; i++) {
+            queries.add(near(random, centroids.get(i % centroids.size())));
+        }
+        vectors.forEach(floats::add);
+    }
+
+    @Test
+    void should_quantize_to_int8_and_back() {
+
+        // given
+        float[] vector = {0.5f, -1f, 0.25f, 0f};
+        byte[] quantized = new byte[4];
+
+        // when
+        float scale = Int8QuantizedMatrix.quantize(vector, quantized, 0);
+
+        // then
+        assertThat(quantized).containsExactly(64, -127, 32, 0);
+        assertThat(quantized[0] * scale).isCloseTo(0.5f, within(0.01f));
+    }
+
+    @Test
+    void should_compute_hamming_distance() {
+
+        // given
+        long[] a = new long[2];
+        long[] b = new long[2];
+        BinaryQuantizedMatrix.quantize(new float[]{1, -1, 1, -1, 1}, a, 0);
+        BinaryQuantizedMatrix.quantize(new float[]{1, 1, 1, -1, -1}, b, 1);
+
+        // then
+        assertThat(VectorMath.hamming(a, 0, b, 1, 1)).isEqualTo(2);
+    }
+
+    @Test
+    void should_search_same_across_chunks() {
+
+        // given
+        Int8QuantizedMatrix int8 = new Int8QuantizedMatrix(DIMENSIONS);
+        Int8QuantizedMatrix chunkedInt8 = new Int8QuantizedMatrix(DIMENSIONS, 1, 4096); // 16 rows per chunk
+        BinaryQuantizedMatrix binary = new BinaryQuantizedMatrix(DIMENSIONS);
+        BinaryQuantizedMatrix chunkedBinary = new BinaryQuantizedMatrix(DIMENSIONS, 1, 256); // 8 rows per chunk
+
+        // when
+        for (float[] vector : vectors) {
+            int8.add(vector);
+            chunkedInt8.add(vector);
+            binary.add(vector);
+            chunkedBinary.add(vector);
+        }
+
+        // then
+        assertThat(chunkedInt8.row(vectors.size() - 1)).containsExactly(int8.row(vectors.size() - 1));
+        for (float[] query : queries) {
+            assertThat(chunkedInt8.search(query, K, COSINE)).isEqualTo(int8.search(query, K, COSINE));
+            assertThat(chunkedBinary.search(query, K)).isEqualTo(binary.search(query, K));
+        }
+    }
+
+    @Test
+    void should_keep_recall_with_int8_quantization() {
+
+        // given
+        Int8QuantizedMatrix int8 = new Int8QuantizedMatrix(DIMENSIONS);
+        vectors.forEach(int8::add);
+
+        // when
+        double recall = recall(query -> int8.search(query, K, COSINE));
+
+        // then
+        assertThat(recall).isGreaterThan(0.95);
+    }
+
+    @Test
+    void should_recover_recall_of_binary_quantization_by_rescoring() {
+
+        // given
+        BinaryQuantizedMatrix binary = new BinaryQuantizedMatrix(DIMENSIONS);
+        Int8QuantizedMatrix int8 = new Int8QuantizedMatrix(DIMENSIONS);
+        vectors.forEach(binary::add);
+        vectors.forEach(int8::add);
+
+        // when
+        double binaryRecall = recall(query -> binary.search(query, K));
+        double int8RescoredRecall = recall(query -> int8.rescore(query, binary.search(query, 10 * K), K, COSINE));
+        double floatRescoredRecall = recall(query -> floats.rescore(query, binary.search(query, 10 * K), K, COSINE));
+
+        // then
+        assertThat(binaryRecall).isLessThan(floatRescoredRecall);
+        assertThat(int8RescoredRecall).isGreaterThan(0.9);
+        assertThat(floatRescoredRecall).isGreaterThan(0.9);
+    }
+
+    @Test
+    void should_truncate_and_normalize() {
+
+        // when
+        float[] truncated = VectorMath.truncate(new float[]{3, 4, 12}, 2);
+
+        // then
+        assertThat(truncated).containsExactly(0.6f, 0.8f);
+    }
+
+    private static double recall(Function<float[], List<SearchHit>> search) {
+        int found = 0;
+        for (float[] query : queries) {
+            Set<Integer> expected = new HashSet<>();
+            floats.search(query, K, COSINE).forEach(hit -> expected.add(hit.index()));
+            for (SearchHit hit : search.apply(query)) {
+                if (expected.contains(hit.index())) {
+                    found++;
+                }
+            }
+        }
+        return found / (double) (K * queries.size());
+    }
+
+    private static float[] near(Random random, float[] centroid) {
+        float[] vector = randomVectors(random, 1, 0.08).get(0);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] += centroid[i];
+        }
+        return VectorMath.normalize(vector);
+    }
+
+    private static List<float[]> randomVectors(Random random, int count, double deviation) {
+        List<float[]> vectors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[DIMENSIONS];
+            for (int j = 0; j < DIMENSIONS; j++) {
+                vector[j] = (float) (random.nextGaussian() * deviation);
+            }
+            vectors.add(deviation == 1 ? VectorMath.normalize(vector) : vector);
+        }
+        return vectors;
+    }
+}